@@ -0,0 +1,47 @@
+package com.ll.b20250227.audit;
+
+import com.ll.b20250227.jwt.TokenFailure;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+// 요청 스레드가 감사 이벤트 하나를 발행하는 비용 (링 버퍼에 넣기까지, 파일 쓰기는 audit-writer 스레드)
+// 여러 요청 스레드 경합은 -t 로 확인, 버퍼가 가득 차 버린 비율은 TearDown 에서 출력
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class AuditLogBenchmark {
+
+    @Param({"DROP", "SPIN"})
+    public AuditProperties.Backpressure backpressure;
+
+    private AuditLog auditLog;
+    private Path dir;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        dir = Files.createTempDirectory("audit-bench");
+        auditLog = new AuditLog(new AuditProperties(true, dir, 16384, backpressure, 1000,
+                DataSize.ofMegabytes(64), Duration.ofHours(1), 4));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        auditLog.shutdown();
+        System.out.printf("%nwritten=%d dropped=%d%n", auditLog.writtenCount(), auditLog.droppedCount());
+        for (Path segment : AuditSegmentReader.listSegments(dir)) {
+            Files.deleteIfExists(segment);
+        }
+        Files.deleteIfExists(dir);
+    }
+
+    @Benchmark
+    public void tokenRejected() {
+        auditLog.tokenRejected(TokenFailure.EXPIRED, "203.0.113.10");
+    }
+}
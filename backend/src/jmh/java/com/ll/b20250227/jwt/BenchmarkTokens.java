@@ -0,0 +1,27 @@
+package com.ll.b20250227.jwt;
+
+// 벤치마크용 토큰 종류별 생성
+final class BenchmarkTokens {
+
+    private BenchmarkTokens() {
+    }
+
+    static String create(JwtProvider jwtProvider, String kind) {
+        return switch (kind) {
+            case "valid" -> jwtProvider.createToken("1234567890", JwtProvider.ACCESS_TYPE, 60 * 60 * 1000L);
+            case "expired" -> jwtProvider.createToken("1234567890", JwtProvider.ACCESS_TYPE, -60 * 1000L);
+            case "malformed" -> "not.a-valid.jwt";
+            // kid 는 맞지만 서명 일부를 바꿔 실제 서명 검증 단계에서 실패
+            case "badSignature" -> tamperSignature(
+                    jwtProvider.createToken("1234567890", JwtProvider.ACCESS_TYPE, 60 * 60 * 1000L));
+            default -> throw new IllegalArgumentException("Unknown token kind: " + kind);
+        };
+    }
+
+    private static String tamperSignature(String token) {
+        char[] chars = token.toCharArray();
+        int index = chars.length - 10;
+        chars[index] = chars[index] == 'A' ? 'B' : 'A';
+        return new String(chars);
+    }
+}
@@ -0,0 +1,47 @@
+package com.ll.b20250227.jwt;
+
+import jakarta.servlet.ServletException;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+// 요청당 인증 필터 비용 (mock 서블릿 요청으로 doFilterInternal 직접 호출)
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class JwtAuthenticationFilterBenchmark {
+
+    @Param({"valid", "expired", "malformed", "badSignature"})
+    public String tokenKind;
+
+    @Param({"false", "true"})
+    public boolean cached;
+
+    private JwtAuthenticationFilter filter;
+    private MockHttpServletRequest request;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        JwtProvider jwtProvider = new JwtProvider(JwtKeyring.generated());
+        // 운영 구성과 같이 폐기 목록 확인 포함
+        TokenRevocationStore revocationStore = new TokenRevocationStore(100_000);
+        filter = new JwtAuthenticationFilter(jwtProvider,
+                cached ? new VerifiedTokenCache(jwtProvider, 10_000) : null, revocationStore);
+        request = new MockHttpServletRequest("GET", "/api/user");
+        request.addHeader("Authorization", "Bearer " + BenchmarkTokens.create(jwtProvider, tokenKind));
+    }
+
+    @Benchmark
+    public MockHttpServletResponse doFilterInternal() throws ServletException, IOException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilterInternal(request, response, new MockFilterChain());
+        // 다음 호출에 인증 정보가 남지 않도록 정리 (Level.Invocation 픽스처 대신 측정 구간에 포함)
+        SecurityContextHolder.clearContext();
+        return response;
+    }
+}
@@ -0,0 +1,61 @@
+package com.ll.b20250227.jwt;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+// JwtProvider 토큰 발급/검증 처리량 및 연산당 할당량 (gc profiler)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class JwtProviderBenchmark {
+
+    // valid: 정상, expired: 만료, malformed: 형식 오류, badSignature: 다른 키로 서명
+    @Param({"valid", "expired", "malformed", "badSignature"})
+    public String tokenKind;
+
+    private JwtProvider jwtProvider;
+    private String token;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        jwtProvider = new JwtProvider(JwtKeyring.generated());
+        token = BenchmarkTokens.create(jwtProvider, tokenKind);
+    }
+
+    @Benchmark
+    public String createAccessToken() {
+        return jwtProvider.createAccessToken("1234567890");
+    }
+
+    @Benchmark
+    public String createRefreshToken() {
+        return jwtProvider.createRefreshToken("1234567890");
+    }
+
+    // 비교용: FastTokenSigner 를 거치지 않는 jjwt 빌더 경로
+    @Benchmark
+    public String createAccessTokenWithBuilder() {
+        return jwtProvider.createTokenWithBuilder("1234567890", JwtProvider.ACCESS_TYPE, 5000);
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        return jwtProvider.validateToken(token);
+    }
+
+    @Benchmark
+    public Object getSubject() {
+        // 유효하지 않은 토큰은 예외를 던지므로 예외 경로 비용까지 포함해 측정
+        try {
+            return jwtProvider.getSubject(token);
+        } catch (RuntimeException e) {
+            return e;
+        }
+    }
+
+    @Benchmark
+    public TokenParseResult parse() {
+        return jwtProvider.parse(token);
+    }
+}
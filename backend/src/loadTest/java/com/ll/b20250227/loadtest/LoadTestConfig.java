@@ -0,0 +1,36 @@
+package com.ll.b20250227.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+// 부하 테스트 설정: ./gradlew loadTest -Ploadtest.users=200 -Ploadtest.threads=platform ...
+record LoadTestConfig(
+        // 동시에 로그인 흐름을 반복하는 가상 사용자 수
+        int users,
+        Duration warmup,
+        Duration duration,
+        // 서버 요청 처리 스레드: virtual | platform
+        String threads,
+        // platform 모드의 Tomcat 최대 스레드 수
+        int tomcatMaxThreads,
+        // 로그인 한 번당 GET /api/user 호출 횟수
+        int userCallsPerLogin,
+        Path reportDir
+) {
+
+    static LoadTestConfig fromSystemProperties() {
+        String threads = System.getProperty("loadtest.threads", "virtual");
+        if (!threads.equals("virtual") && !threads.equals("platform")) {
+            throw new IllegalArgumentException("loadtest.threads 는 virtual 또는 platform 이어야 합니다: " + threads);
+        }
+        return new LoadTestConfig(
+                Integer.getInteger("loadtest.users", 50),
+                Duration.ofSeconds(Long.getLong("loadtest.warmupSeconds", 10)),
+                Duration.ofSeconds(Long.getLong("loadtest.durationSeconds", 30)),
+                threads,
+                Integer.getInteger("loadtest.tomcatMaxThreads", 200),
+                Integer.getInteger("loadtest.userCallsPerLogin", 5),
+                Path.of(System.getProperty("loadtest.reportDir", "build/reports/loadtest"))
+        );
+    }
+}
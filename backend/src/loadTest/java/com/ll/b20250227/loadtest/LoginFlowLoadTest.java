@@ -0,0 +1,246 @@
+package com.ll.b20250227.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ll.b20250227.A20250227Application;
+import com.ll.b20250227.oauth.KakaoStubServer;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLDecoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+// 로그인 -> /api/user -> /api/refresh 전체 흐름 부하 테스트
+// 애플리케이션을 로컬 카카오 대역(KakaoStubServer)에 연결해서 띄우고, 가상 사용자들이 흐름을 반복
+// 단계별 처리량과 지연 백분위를 출력하고 CSV 로 저장 (같은 장비에서 설정별 비교용)
+public class LoginFlowLoadTest {
+
+    private static final String LOGIN_START = "login.start";
+    private static final String LOGIN_CALLBACK = "login.callback";
+    private static final String USER = "api.user";
+    private static final String REFRESH = "api.refresh";
+
+    private final HttpClient client;
+    private final String baseUrl;
+    private final LoadTestConfig config;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<String, StageStats> stats = new HashMap<>();
+
+    private volatile boolean running = true;
+
+    LoginFlowLoadTest(HttpClient client, String baseUrl, LoadTestConfig config) {
+        this.client = client;
+        this.baseUrl = baseUrl;
+        this.config = config;
+        for (String stage : List.of(LOGIN_START, LOGIN_CALLBACK, USER, REFRESH)) {
+            stats.put(stage, new StageStats(stage));
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.fromSystemProperties();
+        try (KakaoStubServer kakao = new KakaoStubServer();
+             ConfigurableApplicationContext app = startApplication(kakao, config)) {
+            String baseUrl = "http://127.0.0.1:" + app.getEnvironment().getProperty("local.server.port");
+            HttpClient client = HttpClient.newBuilder()
+                    .followRedirects(HttpClient.Redirect.NEVER)
+                    .connectTimeout(Duration.ofSeconds(5))
+                    .build();
+            new LoginFlowLoadTest(client, baseUrl, config).run();
+        }
+    }
+
+    private static ConfigurableApplicationContext startApplication(KakaoStubServer kakao, LoadTestConfig config) {
+        String kakaoUrl = kakao.baseUrl();
+        return SpringApplication.run(A20250227Application.class,
+                "--server.port=0",
+                "--management.server.port=0",
+                "--spring.threads.virtual.enabled=" + config.threads().equals("virtual"),
+                "--server.tomcat.threads.max=" + config.tomcatMaxThreads(),
+                "--spring.security.oauth2.client.registration.kakao.client-id=load-test",
+                "--spring.security.oauth2.client.registration.kakao.redirect-uri={baseUrl}/login/oauth2/code/{registrationId}",
+                "--spring.security.oauth2.client.provider.kakao.authorization-uri=" + kakaoUrl + "/oauth/authorize",
+                "--spring.security.oauth2.client.provider.kakao.token-uri=" + kakaoUrl + "/oauth/token",
+                "--spring.security.oauth2.client.provider.kakao.user-info-uri=" + kakaoUrl + "/v2/user/me",
+                // 모든 가상 사용자가 같은 IP 에서 로그인하므로 요청 제한은 끔
+                "--rate-limit.enabled=false",
+                "--logging.level.root=WARN");
+    }
+
+    void run() throws InterruptedException, IOException {
+        System.out.printf("users=%d threads=%s warmup=%ds duration=%ds userCallsPerLogin=%d%n",
+                config.users(), config.threads(), config.warmup().toSeconds(), config.duration().toSeconds(),
+                config.userCallsPerLogin());
+
+        ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor();
+        for (int i = 0; i < config.users(); i++) {
+            workers.submit(this::loop);
+        }
+
+        Thread.sleep(config.warmup().toMillis());
+        stats.values().forEach(StageStats::reset);
+        long start = System.nanoTime();
+        Thread.sleep(config.duration().toMillis());
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+        running = false;
+        workers.shutdown();
+        workers.awaitTermination(30, TimeUnit.SECONDS);
+
+        List<StageStats.Summary> summaries = new ArrayList<>();
+        for (String stage : List.of(LOGIN_START, LOGIN_CALLBACK, USER, REFRESH)) {
+            summaries.add(stats.get(stage).summarize(seconds));
+        }
+        print(summaries);
+        writeCsv(summaries);
+    }
+
+    private void loop() {
+        while (running) {
+            try {
+                Tokens tokens = login();
+                if (tokens == null) {
+                    continue;
+                }
+                for (int i = 0; i < config.userCallsPerLogin() && running; i++) {
+                    getUser(tokens.accessToken());
+                }
+                refresh(tokens.refreshToken());
+            } catch (IOException e) {
+                // 연결 오류는 해당 단계에서 이미 집계됨
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    // /oauth2/authorization/kakao -> (대역 인가) -> /login/oauth2/code/kakao -> 프론트 redirect 의 토큰
+    private Tokens login() throws IOException, InterruptedException {
+        HttpResponse<Void> start = timed(LOGIN_START, HttpRequest.newBuilder(URI.create(baseUrl + "/oauth2/authorization/kakao")));
+        if (start == null || start.statusCode() != 302) {
+            return null;
+        }
+        // 인가 요청은 암호화 쿠키에 담겨 오므로 콜백에 같은 쿠키 전달
+        String cookie = authorizationCookie(start);
+        HttpResponse<Void> authorize = client.send(
+                HttpRequest.newBuilder(URI.create(start.headers().firstValue("Location").orElseThrow())).build(),
+                HttpResponse.BodyHandlers.discarding());
+        String callbackUrl = authorize.headers().firstValue("Location").orElseThrow();
+
+        HttpRequest.Builder callback = HttpRequest.newBuilder(URI.create(callbackUrl));
+        if (cookie != null) {
+            callback.header("Cookie", cookie);
+        }
+        HttpResponse<Void> done = timed(LOGIN_CALLBACK, callback);
+        if (done == null) {
+            return null;
+        }
+        String location = done.headers().firstValue("Location").orElse("");
+        Map<String, String> query = query(location);
+        if (done.statusCode() != 302 || !query.containsKey("accessToken")) {
+            stats.get(LOGIN_CALLBACK).error();
+            return null;
+        }
+        return new Tokens(query.get("accessToken"), query.get("refreshToken"));
+    }
+
+    private void getUser(String accessToken) throws IOException, InterruptedException {
+        HttpResponse<Void> response = timed(USER, HttpRequest.newBuilder(URI.create(baseUrl + "/api/user"))
+                .header("Authorization", "Bearer " + accessToken));
+        if (response != null && response.statusCode() != 200) {
+            stats.get(USER).error();
+        }
+    }
+
+    private void refresh(String refreshToken) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/refresh"))
+                .header("Refresh-Token", refreshToken)
+                .POST(HttpRequest.BodyPublishers.noBody())
+                .build();
+        long start = System.nanoTime();
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        stats.get(REFRESH).record(System.nanoTime() - start);
+        JsonNode body = response.statusCode() == 200 ? objectMapper.readTree(response.body()) : null;
+        if (body == null || !body.has("accessToken")) {
+            stats.get(REFRESH).error();
+        }
+    }
+
+    private HttpResponse<Void> timed(String stage, HttpRequest.Builder request) throws IOException, InterruptedException {
+        long start = System.nanoTime();
+        try {
+            HttpResponse<Void> response = client.send(request.build(), HttpResponse.BodyHandlers.discarding());
+            stats.get(stage).record(System.nanoTime() - start);
+            return response;
+        } catch (IOException e) {
+            stats.get(stage).error();
+            throw e;
+        }
+    }
+
+    static String authorizationCookie(HttpResponse<?> response) {
+        return response.headers().allValues("Set-Cookie").stream()
+                .map(value -> value.split(";", 2)[0])
+                .reduce((a, b) -> a + "; " + b)
+                .orElse(null);
+    }
+
+    static Map<String, String> query(String url) {
+        Map<String, String> values = new HashMap<>();
+        int index = url.indexOf('?');
+        if (index < 0) {
+            return values;
+        }
+        for (String pair : url.substring(index + 1).split("&")) {
+            String[] kv = pair.split("=", 2);
+            if (kv.length == 2) {
+                values.put(kv[0], URLDecoder.decode(kv[1], StandardCharsets.UTF_8));
+            }
+        }
+        return values;
+    }
+
+    private static void print(List<StageStats.Summary> summaries) {
+        System.out.printf("%-16s %10s %8s %12s %9s %9s %9s %9s %9s%n",
+                "stage", "count", "errors", "req/s", "p50(ms)", "p90(ms)", "p99(ms)", "p99.9(ms)", "max(ms)");
+        for (StageStats.Summary s : summaries) {
+            System.out.printf(Locale.ROOT, "%-16s %10d %8d %12.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                    s.stage(), s.count(), s.errors(), s.throughput(), s.p50(), s.p90(), s.p99(), s.p999(), s.max());
+        }
+    }
+
+    private void writeCsv(List<StageStats.Summary> summaries) throws IOException {
+        Files.createDirectories(config.reportDir());
+        String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"));
+        Path file = config.reportDir().resolve("loadtest-" + config.threads() + "-" + timestamp + ".csv");
+        StringBuilder csv = new StringBuilder("stage,users,threads,count,errors,throughput,p50_ms,p90_ms,p99_ms,p999_ms,max_ms\n");
+        for (StageStats.Summary s : summaries) {
+            csv.append(String.format(Locale.ROOT, "%s,%d,%s,%d,%d,%.1f,%.3f,%.3f,%.3f,%.3f,%.3f%n",
+                    s.stage(), config.users(), config.threads(), s.count(), s.errors(), s.throughput(),
+                    s.p50(), s.p90(), s.p99(), s.p999(), s.max()));
+        }
+        Files.writeString(file, csv);
+        System.out.println("report: " + file.toAbsolutePath());
+    }
+
+    private record Tokens(String accessToken, String refreshToken) {
+    }
+}
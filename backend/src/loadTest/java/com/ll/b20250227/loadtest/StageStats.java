@@ -0,0 +1,61 @@
+package com.ll.b20250227.loadtest;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+
+// 단계별 지연 시간(ns) 과 실패 수 집계, 종료 후 정렬해서 백분위 계산
+final class StageStats {
+
+    private final String name;
+    private final LongAdder errors = new LongAdder();
+    private long[] samples = new long[1 << 16];
+    private int count;
+
+    StageStats(String name) {
+        this.name = name;
+    }
+
+    String name() {
+        return name;
+    }
+
+    synchronized void record(long elapsedNanos) {
+        if (count == samples.length) {
+            samples = Arrays.copyOf(samples, count * 2);
+        }
+        samples[count++] = elapsedNanos;
+    }
+
+    void error() {
+        errors.increment();
+    }
+
+    synchronized void reset() {
+        count = 0;
+        errors.reset();
+    }
+
+    synchronized Summary summarize(double seconds) {
+        long[] sorted = Arrays.copyOf(samples, count);
+        Arrays.sort(sorted);
+        return new Summary(name, count, errors.sum(), count / seconds,
+                percentile(sorted, 0.50), percentile(sorted, 0.90), percentile(sorted, 0.99),
+                percentile(sorted, 0.999), sorted.length > 0 ? toMillis(sorted[sorted.length - 1]) : 0);
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(p * sorted.length) - 1;
+        return toMillis(sorted[Math.max(0, index)]);
+    }
+
+    private static double toMillis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    record Summary(String stage, long count, long errors, double throughput,
+                   double p50, double p90, double p99, double p999, double max) {
+    }
+}
@@ -0,0 +1,196 @@
+package com.ll.b20250227.loadtest;
+
+import com.ll.b20250227.oauth.KakaoStubServer;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+// 기동 시간 비교: ./gradlew startupBenchmark -PfastStartup -Pstartup.iterations=5
+// 풀어 둔 boot jar 를 별도 JVM 으로 띄우고, 프로세스 시작부터 첫 /api/user 200 응답까지 걸린 시간과 그 시점의 RSS 를 측정
+// 첫 요청은 카카오 대역을 통한 로그인 -> /api/user 이므로 OAuth2/JPA/JWT 경로의 첫 호출 비용까지 포함
+public class StartupBenchmark {
+
+    private static final Duration STARTUP_TIMEOUT = Duration.ofSeconds(120);
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .followRedirects(HttpClient.Redirect.NEVER)
+            .connectTimeout(Duration.ofSeconds(1))
+            .build();
+    private final Path appJar;
+    private final Path cdsArchive;
+    private final Path reportDir;
+
+    StartupBenchmark(Path appJar, Path cdsArchive, Path reportDir) {
+        this.appJar = appJar;
+        this.cdsArchive = cdsArchive;
+        this.reportDir = reportDir;
+    }
+
+    public static void main(String[] args) throws Exception {
+        StartupBenchmark benchmark = new StartupBenchmark(
+                Path.of(System.getProperty("startup.appJar")),
+                Path.of(System.getProperty("startup.cdsArchive")),
+                Path.of(System.getProperty("startup.reportDir", "build/reports/startup")));
+        int iterations = Integer.getInteger("startup.iterations", 5);
+
+        // jit 은 기본 실행 그대로, aot-cds 는 빌드할 때 쓴 fast-startup 프로필로 실행
+        List<Mode> modes = List.of(
+                new Mode("jit", List.of()),
+                new Mode("aot-cds", List.of("-XX:SharedArchiveFile=" + benchmark.cdsArchive, "-Dspring.aot.enabled=true",
+                        "-Dspring.profiles.active=fast-startup")));
+        List<Sample> samples = new ArrayList<>();
+        try (KakaoStubServer kakao = new KakaoStubServer()) {
+            // 모드를 번갈아 실행해 디스크 캐시 등 장비 상태 변화가 한쪽에만 몰리지 않도록 함
+            for (int i = 0; i < iterations; i++) {
+                for (Mode mode : modes) {
+                    Sample sample = benchmark.measure(mode, i, kakao);
+                    System.out.printf(Locale.ROOT, "%-8s #%d  first /api/user %7.0f ms  rss %6.1f MB%n",
+                            mode.name(), i, sample.millis(), sample.rssMegabytes());
+                    samples.add(sample);
+                }
+            }
+        }
+        benchmark.report(modes, samples);
+    }
+
+    private Sample measure(Mode mode, int iteration, KakaoStubServer kakao) throws IOException, InterruptedException {
+        int port = freePort();
+        String baseUrl = "http://localhost:" + port;
+        Files.createDirectories(reportDir);
+
+        List<String> command = new ArrayList<>();
+        command.add(ProcessHandle.current().info().command().orElse("java"));
+        command.addAll(mode.jvmArgs());
+        command.addAll(List.of(
+                "-jar", appJar.toString(),
+                "--server.port=" + port,
+                "--management.server.port=0",
+                "--spring.security.oauth2.client.registration.kakao.client-id=startup-benchmark",
+                "--spring.security.oauth2.client.registration.kakao.redirect-uri={baseUrl}/login/oauth2/code/{registrationId}",
+                "--spring.security.oauth2.client.provider.kakao.authorization-uri=" + kakao.baseUrl() + "/oauth/authorize",
+                "--spring.security.oauth2.client.provider.kakao.token-uri=" + kakao.baseUrl() + "/oauth/token",
+                "--spring.security.oauth2.client.provider.kakao.user-info-uri=" + kakao.baseUrl() + "/v2/user/me"));
+
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(reportDir.resolve(mode.name() + "-" + iteration + ".log").toFile())
+                .start();
+        try {
+            long deadline = start + STARTUP_TIMEOUT.toNanos();
+            while (!firstUserRequestSucceeds(baseUrl)) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException(mode.name() + " 실행이 종료되었습니다. 로그: "
+                            + reportDir.resolve(mode.name() + "-" + iteration + ".log"));
+                }
+                if (System.nanoTime() > deadline) {
+                    throw new IllegalStateException(mode.name() + " 가 " + STARTUP_TIMEOUT + " 안에 응답하지 않았습니다.");
+                }
+                Thread.sleep(10);
+            }
+            double millis = (System.nanoTime() - start) / 1_000_000.0;
+            return new Sample(mode.name(), millis, rssMegabytes(process.pid()));
+        } finally {
+            process.destroy();
+            process.waitFor();
+        }
+    }
+
+    // 로그인(카카오 대역) -> /api/user, 아직 포트가 열리지 않았으면 false
+    private boolean firstUserRequestSucceeds(String baseUrl) throws IOException, InterruptedException {
+        try {
+            HttpResponse<Void> start = send(HttpRequest.newBuilder(URI.create(baseUrl + "/oauth2/authorization/kakao")));
+            if (start.statusCode() != 302) {
+                return false;
+            }
+            String cookie = LoginFlowLoadTest.authorizationCookie(start);
+            HttpResponse<Void> authorize = send(HttpRequest.newBuilder(
+                    URI.create(start.headers().firstValue("Location").orElseThrow())));
+            HttpRequest.Builder callback = HttpRequest.newBuilder(
+                    URI.create(authorize.headers().firstValue("Location").orElseThrow()));
+            if (cookie != null) {
+                callback.header("Cookie", cookie);
+            }
+            Map<String, String> query = LoginFlowLoadTest.query(send(callback).headers().firstValue("Location").orElse(""));
+            String accessToken = query.get("accessToken");
+            if (accessToken == null) {
+                return false;
+            }
+            HttpResponse<Void> user = send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/user"))
+                    .header("Authorization", "Bearer " + accessToken));
+            return user.statusCode() == 200;
+        } catch (ConnectException e) {
+            return false;
+        }
+    }
+
+    private HttpResponse<Void> send(HttpRequest.Builder request) throws IOException, InterruptedException {
+        return client.send(request.build(), HttpResponse.BodyHandlers.discarding());
+    }
+
+    // Linux 의 /proc/<pid>/status VmRSS (그 외 환경은 -1)
+    private static double rssMegabytes(long pid) {
+        try {
+            for (String line : Files.readAllLines(Path.of("/proc", String.valueOf(pid), "status"))) {
+                if (line.startsWith("VmRSS:")) {
+                    long kilobytes = Long.parseLong(line.replaceAll("[^0-9]", ""));
+                    return kilobytes / 1024.0;
+                }
+            }
+        } catch (IOException | NumberFormatException e) {
+            // 측정 불가
+        }
+        return -1;
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private void report(List<Mode> modes, List<Sample> samples) throws IOException {
+        System.out.printf("%-8s %12s %12s %12s%n", "mode", "median(ms)", "min(ms)", "rss(MB)");
+        StringBuilder csv = new StringBuilder("mode,iteration,first_user_ms,rss_mb\n");
+        for (Mode mode : modes) {
+            List<Sample> runs = samples.stream().filter(s -> s.mode().equals(mode.name())).toList();
+            double[] millis = runs.stream().mapToDouble(Sample::millis).sorted().toArray();
+            double[] rss = runs.stream().mapToDouble(Sample::rssMegabytes).sorted().toArray();
+            System.out.printf(Locale.ROOT, "%-8s %12.0f %12.0f %12.1f%n",
+                    mode.name(), median(millis), millis[0], median(rss));
+            for (int i = 0; i < runs.size(); i++) {
+                csv.append(String.format(Locale.ROOT, "%s,%d,%.1f,%.1f%n",
+                        mode.name(), i, runs.get(i).millis(), runs.get(i).rssMegabytes()));
+            }
+        }
+        String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"));
+        Path file = reportDir.resolve("startup-" + timestamp + ".csv");
+        Files.writeString(file, csv);
+        System.out.println("report: " + file.toAbsolutePath());
+    }
+
+    private static double median(double[] sorted) {
+        int middle = sorted.length / 2;
+        return sorted.length % 2 == 1 ? sorted[middle] : (sorted[middle - 1] + sorted[middle]) / 2;
+    }
+
+    private record Mode(String name, List<String> jvmArgs) {
+    }
+
+    private record Sample(String mode, double millis, double rssMegabytes) {
+    }
+}
@@ -2,8 +2,10 @@ package com.ll.b20250227;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
 
 @SpringBootApplication
+@ConfigurationPropertiesScan
 public class A20250227Application {
 
     public static void main(String[] args) {
@@ -0,0 +1,37 @@
+package com.ll.b20250227.audit;
+
+// 감사 로그 이벤트 종류
+// code 는 세그먼트 파일에 그대로 기록되므로 바꾸지 말고 새 종류는 새 번호로 추가
+public enum AuditEventType {
+    // 카카오 로그인 성공 후 토큰 발급
+    LOGIN(1),
+    // Refresh Token 으로 재발급 성공
+    REFRESH(2),
+    // 재발급 거부 (reason 에 사유)
+    REFRESH_REJECTED(3),
+    // 인증 필터에서 거부된 access token (reason 에 사유)
+    TOKEN_REJECTED(4);
+
+    private static final AuditEventType[] BY_CODE = new AuditEventType[5];
+
+    static {
+        for (AuditEventType type : values()) {
+            BY_CODE[type.code] = type;
+        }
+    }
+
+    private final int code;
+
+    AuditEventType(int code) {
+        this.code = code;
+    }
+
+    public int code() {
+        return code;
+    }
+
+    // 모르는 코드면 null
+    public static AuditEventType fromCode(int code) {
+        return code > 0 && code < BY_CODE.length ? BY_CODE[code] : null;
+    }
+}
@@ -0,0 +1,202 @@
+package com.ll.b20250227.audit;
+
+import com.ll.b20250227.jwt.TokenFailure;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+// 보안 감사 로그: 로그인, 토큰 재발급/거부, 인증 필터에서 거부된 토큰
+// 요청 스레드는 미리 할당된 링 버퍼에 이벤트를 넣기만 하고, 백그라운드 스레드 하나가 모아서 세그먼트 파일에 기록
+// 버퍼가 가득 차면 audit.backpressure 정책에 따라 버리고 dropped 로 셈 (요청 스레드는 파일 I/O 를 기다리지 않음)
+@Component
+public class AuditLog {
+
+    private static final Logger log = LoggerFactory.getLogger(AuditLog.class);
+
+    // 한 번에 꺼내서 쓰는 최대 이벤트 수
+    private static final int DRAIN_BATCH = 1024;
+    // 버퍼가 비었을 때 다음 확인까지 쉬는 시간 (생산자는 깨우지 않음)
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(5);
+
+    private final boolean enabled;
+    private final AuditRingBuffer buffer;
+    private final AuditProperties.Backpressure backpressure;
+    private final int spinLimit;
+    private final AuditSegmentWriter writer;
+    private final Thread consumer;
+
+    // 버퍼가 가득 차 버린 이벤트 / 파일 쓰기 실패로 잃은 이벤트
+    private final LongAdder dropped = new LongAdder();
+    private volatile long lost;
+    private volatile long written;
+    // 쓰기 실패가 이어지는 동안 로그는 처음 한 번만
+    private boolean failing;
+    private volatile boolean running = true;
+
+    @Autowired
+    public AuditLog(AuditProperties properties) {
+        this.enabled = properties.enabled();
+        this.backpressure = properties.backpressure();
+        this.spinLimit = properties.spinLimit();
+        if (!enabled) {
+            this.buffer = null;
+            this.writer = null;
+            this.consumer = null;
+            return;
+        }
+        this.buffer = new AuditRingBuffer(properties.bufferSize());
+        this.writer = new AuditSegmentWriter(properties.dir(), properties.segmentSize().toBytes(),
+                properties.segmentInterval().toMillis(), properties.maxSegments());
+        this.consumer = new Thread(this::run, "audit-writer");
+        this.consumer.setDaemon(true);
+        this.consumer.start();
+    }
+
+    private AuditLog() {
+        this.enabled = false;
+        this.backpressure = AuditProperties.Backpressure.DROP;
+        this.spinLimit = 0;
+        this.buffer = null;
+        this.writer = null;
+        this.consumer = null;
+    }
+
+    // 기록하지 않는 인스턴스 (벤치마크, 감사 로그 없이 만드는 필터 등)
+    public static AuditLog disabled() {
+        return new AuditLog();
+    }
+
+    public void login(long subject, String address) {
+        publish(AuditEventType.LOGIN, AuditReason.NONE, subject, address);
+    }
+
+    public void refresh(String subject, String address) {
+        publish(AuditEventType.REFRESH, AuditReason.NONE, subjectId(subject), address);
+    }
+
+    // subject 는 토큰을 해석하지 못했으면 null
+    public void refreshRejected(AuditReason reason, String subject, String address) {
+        publish(AuditEventType.REFRESH_REJECTED, reason, subjectId(subject), address);
+    }
+
+    public void tokenRejected(TokenFailure failure, String address) {
+        publish(AuditEventType.TOKEN_REJECTED, AuditReason.of(failure), 0, address);
+    }
+
+    // subject 0 은 알 수 없음
+    public void publish(AuditEventType type, AuditReason reason, long subject, String address) {
+        if (!enabled) {
+            return;
+        }
+        long timestamp = System.currentTimeMillis();
+        if (buffer.tryPublish(timestamp, type, reason, subject, address)) {
+            return;
+        }
+        if (backpressure == AuditProperties.Backpressure.SPIN) {
+            // 소비자가 자리를 비울 때까지 잠깐만 기다림 (락/파일 I/O 없음)
+            for (int i = 0; i < spinLimit; i++) {
+                Thread.onSpinWait();
+                if (buffer.tryPublish(timestamp, type, reason, subject, address)) {
+                    return;
+                }
+            }
+        }
+        dropped.increment();
+    }
+
+    public long droppedCount() {
+        return dropped.sum();
+    }
+
+    public long lostCount() {
+        return lost;
+    }
+
+    public long writtenCount() {
+        return written;
+    }
+
+    public int bufferedCount() {
+        return enabled ? buffer.size() : 0;
+    }
+
+    private void run() {
+        while (running) {
+            if (buffer.drain(this::write, DRAIN_BATCH) > 0) {
+                continue;
+            }
+            // 버퍼가 비면 모아 둔 레코드를 파일에 내보내고 쉼
+            try {
+                writer.flush();
+            } catch (IOException e) {
+                failed(e);
+            }
+            LockSupport.parkNanos(IDLE_PARK_NANOS);
+        }
+        // 종료: 남은 이벤트를 모두 쓰고 세그먼트를 닫음
+        while (buffer.drain(this::write, DRAIN_BATCH) > 0) {
+            // 계속 비움
+        }
+        try {
+            writer.close();
+        } catch (IOException e) {
+            failed(e);
+        }
+    }
+
+    private void write(long timestamp, AuditEventType type, AuditReason reason, long subject, String address) {
+        try {
+            writer.append(timestamp, type, reason, subject, address);
+            written++;
+            failing = false;
+        } catch (IOException e) {
+            lost++;
+            failed(e);
+        }
+    }
+
+    private void failed(IOException e) {
+        int discarded = writer.discard();
+        // 버퍼에 있던 레코드는 이미 written 으로 셌으므로 옮겨 셈
+        written -= discarded;
+        lost += discarded;
+        if (!failing) {
+            failing = true;
+            log.warn("감사 로그 세그먼트 쓰기 실패, 복구될 때까지 이벤트를 버립니다.", e);
+        }
+    }
+
+    // 숫자 subject(카카오 ID)만 기록, 아니면 0
+    // 요청 경로라 예외를 만드는 Long.parseLong 대신 직접 변환
+    static long subjectId(String subject) {
+        if (subject == null || subject.isEmpty() || subject.length() > 18) {
+            return 0;
+        }
+        long value = 0;
+        for (int i = 0; i < subject.length(); i++) {
+            char c = subject.charAt(i);
+            if (c < '0' || c > '9') {
+                return 0;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        if (!enabled) {
+            return;
+        }
+        running = false;
+        LockSupport.unpark(consumer);
+        consumer.join(TimeUnit.SECONDS.toMillis(5));
+    }
+}
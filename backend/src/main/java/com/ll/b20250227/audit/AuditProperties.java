@@ -0,0 +1,39 @@
+package com.ll.b20250227.audit;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+// 보안 감사 로그 설정 (audit.*)
+@ConfigurationProperties(prefix = "audit")
+public record AuditProperties(
+        @DefaultValue("true") boolean enabled,
+        // 세그먼트 파일 디렉터리 (노드마다 로컬 디스크)
+        Path dir,
+        // 링 버퍼 슬롯 수 (2의 거듭제곱으로 올림), 시작 시 한 번만 할당
+        @DefaultValue("16384") int bufferSize,
+        // 버퍼가 가득 찼을 때: DROP 은 바로 버림, SPIN 은 spin-limit 번까지 잠깐 기다린 뒤 버림
+        @DefaultValue("DROP") Backpressure backpressure,
+        @DefaultValue("1000") int spinLimit,
+        // 세그먼트 교체 기준 (크기 또는 시간 중 먼저 도달한 것)
+        @DefaultValue("64MB") DataSize segmentSize,
+        @DefaultValue("1h") Duration segmentInterval,
+        // 남겨 두는 세그먼트 수, 넘으면 오래된 것부터 삭제
+        @DefaultValue("168") int maxSegments
+) {
+
+    public AuditProperties {
+        if (dir == null) {
+            dir = Path.of(System.getProperty("java.io.tmpdir"), "backend-audit");
+        }
+    }
+
+    // 요청 스레드는 어느 정책이든 파일 I/O 를 기다리지 않음
+    public enum Backpressure {
+        DROP,
+        SPIN
+    }
+}
@@ -0,0 +1,18 @@
+package com.ll.b20250227.audit;
+
+import java.time.Instant;
+
+// 감사 로그 조회 조건 (null 인 조건은 적용하지 않음), from 포함 / to 제외
+public record AuditQuery(Instant from, Instant to, AuditEventType type, Long subject) {
+
+    public static AuditQuery all() {
+        return new AuditQuery(null, null, null, null);
+    }
+
+    boolean matches(long timestamp, AuditEventType type, long subject) {
+        return (from == null || timestamp >= from.toEpochMilli())
+                && (to == null || timestamp < to.toEpochMilli())
+                && (this.type == null || this.type == type)
+                && (this.subject == null || this.subject == subject);
+    }
+}
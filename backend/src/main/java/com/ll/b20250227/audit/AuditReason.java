@@ -0,0 +1,47 @@
+package com.ll.b20250227.audit;
+
+import com.ll.b20250227.jwt.TokenFailure;
+
+// 거부 사유 (성공 이벤트는 NONE)
+// code 는 세그먼트 파일에 그대로 기록되므로 바꾸지 말고 새 사유는 새 번호로 추가
+public enum AuditReason {
+    NONE(0),
+    EMPTY(1),
+    EXPIRED(2),
+    BAD_SIGNATURE(3),
+    MALFORMED(4),
+    UNSUPPORTED(5),
+    REVOKED(6),
+    NOT_REFRESH_TOKEN(7);
+
+    private static final AuditReason[] BY_CODE = new AuditReason[8];
+    private static final AuditReason[] BY_FAILURE = new AuditReason[TokenFailure.values().length];
+
+    static {
+        for (AuditReason reason : values()) {
+            BY_CODE[reason.code] = reason;
+        }
+        for (TokenFailure failure : TokenFailure.values()) {
+            BY_FAILURE[failure.ordinal()] = valueOf(failure.name());
+        }
+    }
+
+    private final int code;
+
+    AuditReason(int code) {
+        this.code = code;
+    }
+
+    public int code() {
+        return code;
+    }
+
+    public static AuditReason of(TokenFailure failure) {
+        return BY_FAILURE[failure.ordinal()];
+    }
+
+    // 모르는 코드면 null
+    public static AuditReason fromCode(int code) {
+        return code >= 0 && code < BY_CODE.length ? BY_CODE[code] : null;
+    }
+}
@@ -0,0 +1,7 @@
+package com.ll.b20250227.audit;
+
+import java.time.Instant;
+
+// 세그먼트에서 읽은 감사 이벤트 (subject, address 는 모르면 null)
+public record AuditRecord(Instant time, AuditEventType type, AuditReason reason, Long subject, String address) {
+}
@@ -0,0 +1,105 @@
+package com.ll.b20250227.audit;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.atomic.AtomicLong;
+
+// 감사 이벤트용 다중 생산자 / 단일 소비자 링 버퍼
+// 이벤트 필드를 슬롯별 배열에 그대로 담아서 발행 시 객체를 만들지 않고, 락 없이 CAS 한 번으로 슬롯을 차지
+// 소비자가 아직 읽지 않은 슬롯은 덮어쓰지 않음 (가득 차면 tryPublish 가 false)
+public class AuditRingBuffer {
+
+    private static final VarHandle SEQUENCES = MethodHandles.arrayElementVarHandle(long[].class);
+
+    private final int capacity;
+    private final int mask;
+
+    // 슬롯에 마지막으로 발행된 시퀀스: 소비자는 기대하는 시퀀스와 같을 때만 읽음
+    private final long[] published;
+    private final long[] timestamps;
+    private final long[] subjects;
+    private final AuditEventType[] types;
+    private final AuditReason[] reasons;
+    // Tomcat 이 이미 만든 주소 문자열을 그대로 담고, 바이트 변환은 소비자 스레드에서
+    private final String[] addresses;
+
+    // 다음에 차지할 시퀀스 (생산자끼리 CAS)
+    private final AtomicLong claimed = new AtomicLong();
+    // 다음에 읽을 시퀀스 (소비자만 씀, 생산자는 남은 자리 계산에 읽음)
+    private final AtomicLong consumed = new AtomicLong();
+
+    public AuditRingBuffer(int requestedCapacity) {
+        if (requestedCapacity < 2) {
+            throw new IllegalArgumentException("audit.buffer-size 는 2 이상이어야 합니다.");
+        }
+        this.capacity = Integer.highestOneBit(requestedCapacity - 1) << 1;
+        this.mask = capacity - 1;
+        this.published = new long[capacity];
+        this.timestamps = new long[capacity];
+        this.subjects = new long[capacity];
+        this.types = new AuditEventType[capacity];
+        this.reasons = new AuditReason[capacity];
+        this.addresses = new String[capacity];
+        for (int i = 0; i < capacity; i++) {
+            published[i] = -1;
+        }
+    }
+
+    // 소비자가 이벤트 하나를 읽을 때 호출 (필드는 호출 중에만 유효)
+    @FunctionalInterface
+    public interface Handler {
+        void onEvent(long timestamp, AuditEventType type, AuditReason reason, long subject, String address);
+    }
+
+    // 자리가 없으면 기다리지 않고 false
+    public boolean tryPublish(long timestamp, AuditEventType type, AuditReason reason, long subject, String address) {
+        long sequence;
+        do {
+            sequence = claimed.get();
+            if (sequence - consumed.get() >= capacity) {
+                return false;
+            }
+        } while (!claimed.compareAndSet(sequence, sequence + 1));
+
+        int slot = (int) sequence & mask;
+        timestamps[slot] = timestamp;
+        subjects[slot] = subject;
+        types[slot] = type;
+        reasons[slot] = reason;
+        addresses[slot] = address;
+        // 필드를 다 쓴 뒤에 발행 (소비자의 getAcquire 와 짝)
+        SEQUENCES.setRelease(published, slot, sequence);
+        return true;
+    }
+
+    // 발행된 순서대로 최대 max 개를 읽음 (소비자 스레드 한 곳에서만 호출)
+    // 앞 시퀀스를 차지한 생산자가 아직 쓰는 중이면 거기서 멈추고 다음 호출에서 이어 읽음
+    public int drain(Handler handler, int max) {
+        long next = consumed.get();
+        int count = 0;
+        while (count < max) {
+            int slot = (int) next & mask;
+            if ((long) SEQUENCES.getAcquire(published, slot) != next) {
+                break;
+            }
+            handler.onEvent(timestamps[slot], types[slot], reasons[slot], subjects[slot], addresses[slot]);
+            addresses[slot] = null;
+            next++;
+            count++;
+        }
+        if (count > 0) {
+            // 읽은 슬롯을 생산자에게 돌려줌
+            consumed.lazySet(next);
+        }
+        return count;
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    // 발행됐거나 쓰는 중인 이벤트 수 (메트릭용 근사값)
+    public int size() {
+        return (int) Math.max(0, claimed.get() - consumed.get());
+    }
+}
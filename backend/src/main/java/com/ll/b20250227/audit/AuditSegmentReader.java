@@ -0,0 +1,170 @@
+package com.ll.b20250227.audit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+// 감사 로그 세그먼트 조회 (AuditSegmentWriter 의 파일 형식)
+// 세그먼트 이름의 시작 시각으로 기간 밖의 파일은 열지 않고, 나머지는 처음부터 순서대로 읽으며 조건을 확인
+@Component
+public class AuditSegmentReader {
+
+    private static final Logger log = LoggerFactory.getLogger(AuditSegmentReader.class);
+
+    // 이벤트 시각은 발행 시점이라 버퍼에 머문 만큼 세그먼트 시작 시각보다 조금 앞설 수 있음
+    private static final long SEGMENT_SLACK_MILLIS = 60_000;
+
+    private final Path dir;
+
+    @Autowired
+    public AuditSegmentReader(AuditProperties properties) {
+        this(properties.dir());
+    }
+
+    public AuditSegmentReader(Path dir) {
+        this.dir = dir;
+    }
+
+    // 조건에 맞는 레코드를 세그먼트 순서대로 sink 에 넘김, sink 가 false 를 반환하면 중단
+    // 쓰는 중인 세그먼트는 소비자가 flush 한 곳까지만 보임
+    public void query(AuditQuery query, Predicate<AuditRecord> sink) throws IOException {
+        List<Path> segments = listSegments(dir);
+        for (int i = 0; i < segments.size(); i++) {
+            long startedAt = startedAt(segments.get(i));
+            // 다음 세그먼트가 from 이전에 시작했으면 이 세그먼트는 모두 from 이전
+            if (query.from() != null && i + 1 < segments.size()
+                    && startedAt(segments.get(i + 1)) + SEGMENT_SLACK_MILLIS < query.from().toEpochMilli()) {
+                continue;
+            }
+            if (query.to() != null && startedAt - SEGMENT_SLACK_MILLIS >= query.to().toEpochMilli()) {
+                break;
+            }
+            if (!read(segments.get(i), query, sink)) {
+                return;
+            }
+        }
+    }
+
+    private boolean read(Path segment, AuditQuery query, Predicate<AuditRecord> sink) throws IOException {
+        FileChannel channel;
+        try {
+            channel = FileChannel.open(segment, StandardOpenOption.READ);
+        } catch (NoSuchFileException e) {
+            // 읽는 사이 보관 기간이 지나 삭제됨
+            return true;
+        }
+        try (channel) {
+            ByteBuffer header = ByteBuffer.allocate(AuditSegmentWriter.HEADER_SIZE);
+            if (!readFully(channel, header) || header.getInt(0) != AuditSegmentWriter.MAGIC
+                    || header.getShort(4) != AuditSegmentWriter.VERSION
+                    || header.getShort(6) != AuditSegmentWriter.RECORD_SIZE) {
+                log.warn("감사 로그 세그먼트 형식이 아니라 건너뜁니다: {}", segment);
+                return true;
+            }
+
+            CRC32C crc = new CRC32C();
+            byte[] address = new byte[16];
+            ByteBuffer buffer = ByteBuffer.allocate(AuditSegmentWriter.RECORD_SIZE * 1638);
+            boolean eof = false;
+            while (!eof) {
+                eof = channel.read(buffer) < 0;
+                buffer.flip();
+                // 파일 끝에 남는 40바이트 미만은 잘린 레코드 (쓰는 중이거나 비정상 종료)
+                while (buffer.remaining() >= AuditSegmentWriter.RECORD_SIZE) {
+                    int start = buffer.position();
+                    crc.reset();
+                    crc.update(buffer.slice(start, AuditSegmentWriter.CHECKED_SIZE));
+                    if ((int) crc.getValue() != buffer.getInt(start + AuditSegmentWriter.CHECKED_SIZE)) {
+                        log.debug("감사 로그 레코드 CRC 불일치, 세그먼트 나머지를 건너뜁니다: {} offset={}", segment, start);
+                        return true;
+                    }
+                    long timestamp = buffer.getLong();
+                    long subject = buffer.getLong();
+                    buffer.get(address);
+                    AuditEventType type = AuditEventType.fromCode(buffer.get());
+                    AuditReason reason = AuditReason.fromCode(buffer.get());
+                    buffer.position(start + AuditSegmentWriter.RECORD_SIZE);
+                    if (type == null || reason == null || !query.matches(timestamp, type, subject)) {
+                        continue;
+                    }
+                    AuditRecord record = new AuditRecord(Instant.ofEpochMilli(timestamp), type, reason,
+                            subject != 0 ? subject : null, decodeAddress(address));
+                    if (!sink.test(record)) {
+                        return false;
+                    }
+                }
+                buffer.compact();
+            }
+        }
+        return true;
+    }
+
+    // 이름(시작 시각) 순 = 시간 순
+    static List<Path> listSegments(Path dir) throws IOException {
+        if (!Files.isDirectory(dir)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.filter(AuditSegmentReader::isSegment).sorted().toList();
+        }
+    }
+
+    private static boolean isSegment(Path file) {
+        String name = file.getFileName().toString();
+        return name.startsWith(AuditSegmentWriter.PREFIX) && name.endsWith(AuditSegmentWriter.SUFFIX)
+                && name.length() == AuditSegmentWriter.fileName(0).length();
+    }
+
+    private static long startedAt(Path segment) {
+        String name = segment.getFileName().toString();
+        return Long.parseLong(name.substring(AuditSegmentWriter.PREFIX.length(),
+                name.length() - AuditSegmentWriter.SUFFIX.length()));
+    }
+
+    private static boolean readFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String decodeAddress(byte[] address) {
+        boolean empty = true;
+        for (byte b : address) {
+            if (b != 0) {
+                empty = false;
+                break;
+            }
+        }
+        if (empty) {
+            return null;
+        }
+        try {
+            if (Arrays.equals(address, 0, 12, AuditSegmentWriter.IPV4_MAPPED_PREFIX, 0, 12)) {
+                return InetAddress.getByAddress(Arrays.copyOfRange(address, 12, 16)).getHostAddress();
+            }
+            return InetAddress.getByAddress(address).getHostAddress();
+        } catch (UnknownHostException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,221 @@
+package com.ll.b20250227.audit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.CRC32C;
+
+// 감사 이벤트를 고정 크기 레코드로 세그먼트 파일 끝에 이어 씀 (소비자 스레드 전용, thread-safe 아님)
+//
+// 파일: audit-<시작 epoch ms 13자리>.seg
+// 헤더 16바이트: magic "AUD1"(4) | version(2) | record size(2) | 시작 epoch ms(8)
+// 레코드 40바이트: epoch ms(8) | subject(8) | IPv6 주소, IPv4 는 ::ffff:a.b.c.d (16) | type(1) | reason(1) | 0(2) | CRC32C(4)
+// CRC 가 맞지 않는 레코드(비정상 종료로 잘린 끝부분 등)는 읽을 때 버림
+class AuditSegmentWriter implements Closeable {
+
+    private static final Logger log = LoggerFactory.getLogger(AuditSegmentWriter.class);
+
+    static final int MAGIC = 0x41554431;
+    static final short VERSION = 1;
+    static final int HEADER_SIZE = 16;
+    static final int RECORD_SIZE = 40;
+    static final int CHECKED_SIZE = RECORD_SIZE - 4;
+    static final String PREFIX = "audit-";
+    static final String SUFFIX = ".seg";
+
+    static final byte[] IPV4_MAPPED_PREFIX = {0, 0, 0, 0, 0, 0, 0, 0, 0, 0, (byte) 0xff, (byte) 0xff};
+
+    private final Path dir;
+    private final long segmentSize;
+    private final long segmentIntervalMillis;
+    private final int maxSegments;
+
+    // 모아서 한 번에 write (64KB 가 차거나 버퍼가 빌 때 flush)
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(RECORD_SIZE * 1638);
+    private final CRC32C crc = new CRC32C();
+    private final byte[] addressBytes = new byte[16];
+
+    // 버퍼에 있지만 아직 파일에 쓰지 않은 레코드 수
+    private int pendingRecords;
+
+    private FileChannel channel;
+    private long segmentBytes;
+    private long segmentStartedAt;
+
+    AuditSegmentWriter(Path dir, long segmentSize, long segmentIntervalMillis, int maxSegments) {
+        this.dir = dir;
+        this.segmentSize = Math.max(segmentSize, HEADER_SIZE + RECORD_SIZE);
+        this.segmentIntervalMillis = segmentIntervalMillis;
+        this.maxSegments = Math.max(maxSegments, 1);
+    }
+
+    void append(long timestamp, AuditEventType type, AuditReason reason, long subject, String address) throws IOException {
+        if (channel == null || segmentBytes + RECORD_SIZE > segmentSize
+                || timestamp - segmentStartedAt >= segmentIntervalMillis) {
+            rotate(timestamp);
+        }
+        if (buffer.remaining() < RECORD_SIZE) {
+            flush();
+        }
+        int start = buffer.position();
+        buffer.putLong(timestamp);
+        buffer.putLong(subject);
+        buffer.put(encodeAddress(address));
+        buffer.put((byte) type.code());
+        buffer.put((byte) reason.code());
+        buffer.putShort((short) 0);
+        crc.reset();
+        crc.update(buffer.slice(start, CHECKED_SIZE));
+        buffer.putInt((int) crc.getValue());
+        segmentBytes += RECORD_SIZE;
+        pendingRecords++;
+    }
+
+    // 버퍼에 모인 레코드를 파일에 씀 (fsync 는 세그먼트를 닫을 때만)
+    void flush() throws IOException {
+        if (buffer.position() == 0 || channel == null) {
+            return;
+        }
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+        pendingRecords = 0;
+    }
+
+    // 쓰기 실패 후 호출: 아직 쓰지 못한 레코드를 버리고 다음 append 에서 새 세그먼트를 열도록 함
+    // 버린 레코드 수를 반환
+    int discard() {
+        int lost = pendingRecords;
+        pendingRecords = 0;
+        buffer.clear();
+        closeQuietly();
+        return lost;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (channel == null) {
+            return;
+        }
+        flush();
+        channel.force(false);
+        channel.close();
+        channel = null;
+    }
+
+    private void rotate(long now) throws IOException {
+        close();
+        Files.createDirectories(dir);
+        // 같은 밀리초에 교체되면 이름이 겹치지 않도록 다음 값 사용
+        long startedAt = Math.max(now, segmentStartedAt + 1);
+        Path file = dir.resolve(fileName(startedAt));
+        while (Files.exists(file)) {
+            file = dir.resolve(fileName(++startedAt));
+        }
+        channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE)
+                .putInt(MAGIC)
+                .putShort(VERSION)
+                .putShort((short) RECORD_SIZE)
+                .putLong(startedAt)
+                .flip();
+        while (header.hasRemaining()) {
+            channel.write(header);
+        }
+        segmentBytes = HEADER_SIZE;
+        segmentStartedAt = startedAt;
+        deleteOldSegments();
+    }
+
+    private void deleteOldSegments() {
+        try {
+            List<Path> segments = AuditSegmentReader.listSegments(dir);
+            for (int i = 0; i < segments.size() - maxSegments; i++) {
+                Files.deleteIfExists(segments.get(i));
+            }
+        } catch (IOException e) {
+            log.warn("오래된 감사 로그 세그먼트를 지우지 못했습니다. dir={}", dir, e);
+        }
+    }
+
+    private void closeQuietly() {
+        if (channel == null) {
+            return;
+        }
+        try {
+            channel.close();
+        } catch (IOException ignored) {
+            // 이미 실패한 세그먼트
+        }
+        channel = null;
+    }
+
+    static String fileName(long startedAt) {
+        return PREFIX + String.format("%013d", startedAt) + SUFFIX;
+    }
+
+    // 요청 스레드 대신 여기서 주소 문자열을 바이트로 변환, 알 수 없으면 0
+    private byte[] encodeAddress(String address) {
+        Arrays.fill(addressBytes, (byte) 0);
+        if (address == null || address.isEmpty()) {
+            return addressBytes;
+        }
+        if (address.indexOf(':') < 0) {
+            if (parseIpv4(address)) {
+                System.arraycopy(IPV4_MAPPED_PREFIX, 0, addressBytes, 0, IPV4_MAPPED_PREFIX.length);
+            } else {
+                // 중간까지 쓴 바이트 정리
+                Arrays.fill(addressBytes, (byte) 0);
+            }
+            return addressBytes;
+        }
+        try {
+            // IPv6 리터럴은 DNS 조회 없이 변환됨
+            byte[] parsed = InetAddress.getByName(address).getAddress();
+            if (parsed.length == 16) {
+                System.arraycopy(parsed, 0, addressBytes, 0, 16);
+            }
+        } catch (UnknownHostException e) {
+            // 주소 없이 기록
+        }
+        return addressBytes;
+    }
+
+    // "a.b.c.d" 를 addressBytes[12..15] 에 씀
+    private boolean parseIpv4(String address) {
+        int octet = 0;
+        int value = -1;
+        for (int i = 0; i < address.length(); i++) {
+            char c = address.charAt(i);
+            if (c >= '0' && c <= '9') {
+                value = (value < 0 ? 0 : value * 10) + (c - '0');
+                if (value > 255) {
+                    return false;
+                }
+            } else if (c == '.' && value >= 0 && octet < 3) {
+                addressBytes[12 + octet++] = (byte) value;
+                value = -1;
+            } else {
+                return false;
+            }
+        }
+        if (value < 0 || octet != 3) {
+            return false;
+        }
+        addressBytes[15] = (byte) value;
+        return true;
+    }
+}
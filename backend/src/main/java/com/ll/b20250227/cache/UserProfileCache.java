@@ -0,0 +1,82 @@
+package com.ll.b20250227.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.ll.b20250227.entity.User;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// GET /api/user 응답을 사용자별로 직렬화된 바이트 + strong ETag 로 캐싱
+// 프로필이 바뀌면 CustomOAuth2UserService 에서 invalidate 호출
+@Component
+public class UserProfileCache {
+
+    private final ObjectMapper objectMapper;
+    private final Cache<Long, CachedProfile> cache;
+
+    public UserProfileCache(ObjectMapper objectMapper,
+                            @Value("${user.profile-cache.max-size:10000}") long maxSize,
+                            @Value("${user.profile-cache.ttl:10m}") Duration ttl) {
+        this.objectMapper = objectMapper;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                // 다른 노드에서 갱신된 프로필도 ttl 이 지나면 다시 읽음
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    public CachedProfile get(Long userId) {
+        return cache.getIfPresent(userId);
+    }
+
+    public CachedProfile put(User user) {
+        CachedProfile profile = serialize(user);
+        cache.put(user.getId(), profile);
+        return profile;
+    }
+
+    // 캐시에 넣지 않고 같은 직렬화/ETag 만 (토큰 클레임처럼 출처를 믿을 수 있는 시간이 짧은 값)
+    public CachedProfile render(User user) {
+        return serialize(user);
+    }
+
+    public void invalidate(Long userId) {
+        cache.invalidate(userId);
+    }
+
+    private CachedProfile serialize(User user) {
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("id", user.getId());
+        response.put("nickname", user.getNickname());
+        response.put("email", user.getEmail());
+        response.put("profileImageUrl", user.getProfileImageUrl());
+        try {
+            byte[] body = objectMapper.writeValueAsBytes(response);
+            return new CachedProfile(body, etag(body));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("사용자 정보를 직렬화할 수 없습니다.", e);
+        }
+    }
+
+    // 응답 바이트의 SHA-256 으로 strong ETag 생성
+    private static String etag(byte[] body) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(body);
+            return "\"" + Base64.getUrlEncoder().withoutPadding().encodeToString(hash) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public record CachedProfile(byte[] body, String etag) {
+    }
+}
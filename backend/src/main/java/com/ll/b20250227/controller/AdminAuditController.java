@@ -0,0 +1,73 @@
+package com.ll.b20250227.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ll.b20250227.audit.AuditEventType;
+import com.ll.b20250227.audit.AuditQuery;
+import com.ll.b20250227.audit.AuditSegmentReader;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+
+// 이 노드의 감사 로그 세그먼트 조회 (/api/admin/** 는 admin.user-ids 사용자만, SecurityConfig)
+@RestController
+@RequestMapping("/api/admin")
+public class AdminAuditController {
+
+    static final int MAX_LIMIT = 10_000;
+
+    private final AuditSegmentReader auditSegmentReader;
+    private final ObjectMapper objectMapper;
+
+    public AdminAuditController(AuditSegmentReader auditSegmentReader, ObjectMapper objectMapper) {
+        this.auditSegmentReader = auditSegmentReader;
+        this.objectMapper = objectMapper;
+    }
+
+    // 조건에 맞는 이벤트를 기록된 순서대로 NDJSON 으로 (한 줄에 한 건)
+    // from/to 는 ISO-8601 (예: 2025-03-01T00:00:00Z), to 는 제외
+    // 예) /api/admin/audit?subject=3000000001&type=REFRESH_REJECTED&from=2025-03-01T00:00:00Z
+    @GetMapping("/audit")
+    public ResponseEntity<StreamingResponseBody> query(@RequestParam(required = false) Instant from,
+                                                       @RequestParam(required = false) Instant to,
+                                                       @RequestParam(required = false) AuditEventType type,
+                                                       @RequestParam(required = false) Long subject,
+                                                       @RequestParam(defaultValue = "1000") int limit) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            // 스트리밍 응답이라 본문 대신 예외로 400
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "limit 는 1 ~ " + MAX_LIMIT + " 사이여야 합니다.");
+        }
+        AuditQuery query = new AuditQuery(from, to, type, subject);
+        StreamingResponseBody body = outputStream -> {
+            OutputStream out = new BufferedOutputStream(outputStream, 64 * 1024);
+            int[] remaining = {limit};
+            try {
+                auditSegmentReader.query(query, record -> {
+                    try {
+                        out.write(objectMapper.writeValueAsBytes(record));
+                        out.write('\n');
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                    return --remaining[0] > 0;
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            out.flush();
+        };
+        return ResponseEntity.ok()
+                .contentType(AdminUserController.NDJSON)
+                .body(body);
+    }
+}
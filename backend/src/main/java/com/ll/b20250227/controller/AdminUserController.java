@@ -0,0 +1,64 @@
+package com.ll.b20250227.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ll.b20250227.repository.UserExportRow;
+import com.ll.b20250227.repository.UserRepository;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedOutputStream;
+import java.io.OutputStream;
+import java.util.List;
+
+// 운영용 관리 API (/api/admin/** 는 admin.user-ids 에 등록된 사용자만, SecurityConfig)
+@RestController
+@RequestMapping("/api/admin")
+public class AdminUserController {
+
+    public static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+    // 한 번에 읽는 행 수 (UserRepository.findExportPage 의 fetch size 와 같음)
+    static final int EXPORT_PAGE_SIZE = 1000;
+
+    private final UserRepository userRepository;
+    private final ObjectMapper objectMapper;
+
+    public AdminUserController(UserRepository userRepository, ObjectMapper objectMapper) {
+        this.userRepository = userRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    // 전체 사용자를 id 순 NDJSON 으로 스트리밍 (한 줄에 한 명)
+    // 페이지마다 짧은 쿼리 하나로 읽고 바로 내보내므로 메모리는 페이지 크기만큼만 쓰고, 커넥션도 쿼리 동안만 점유
+    // 중간에 끊기면 마지막으로 받은 id 를 after 로 넘겨 이어받을 수 있음
+    // (write-behind 로 아직 DB 에 반영되지 않은 로그인 직후 변경은 포함되지 않음)
+    @GetMapping("/users/export")
+    public ResponseEntity<StreamingResponseBody> exportUsers(@RequestParam(defaultValue = "0") long after) {
+        StreamingResponseBody body = outputStream -> {
+            OutputStream out = new BufferedOutputStream(outputStream, 64 * 1024);
+            long lastId = after;
+            while (true) {
+                List<UserExportRow> page = userRepository.findExportPage(lastId, Limit.of(EXPORT_PAGE_SIZE));
+                for (UserExportRow row : page) {
+                    out.write(objectMapper.writeValueAsBytes(row));
+                    out.write('\n');
+                }
+                // 페이지 단위로 클라이언트에 내보냄
+                out.flush();
+                if (page.size() < EXPORT_PAGE_SIZE) {
+                    break;
+                }
+                lastId = page.get(page.size() - 1).id();
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(NDJSON)
+                .body(body);
+    }
+}
@@ -1,43 +1,106 @@
 package com.ll.b20250227.controller;
 
+import com.ll.b20250227.audit.AuditLog;
+import com.ll.b20250227.audit.AuditReason;
 import com.ll.b20250227.jwt.JwtProvider;
+import com.ll.b20250227.jwt.ParsedToken;
+import com.ll.b20250227.jwt.RefreshSingleFlight;
+import com.ll.b20250227.jwt.TokenParseResult;
+import com.ll.b20250227.jwt.TokenProfileResolver;
+import com.ll.b20250227.jwt.TokenRevocationStore;
+import com.ll.b20250227.metrics.AuthMetrics;
+import com.ll.b20250227.security.RateLimitFilter;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.Instant;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 @RestController
 @RequestMapping("/api")
 public class AuthController {
 
     private final JwtProvider jwtProvider;
+    private final TokenRevocationStore revocationStore;
+    private final TokenProfileResolver tokenProfileResolver;
+    private final RefreshSingleFlight refreshSingleFlight;
+    private final AuthMetrics metrics;
+    private final AuditLog auditLog;
 
-    public AuthController(JwtProvider jwtProvider) {
+    public AuthController(JwtProvider jwtProvider, TokenRevocationStore revocationStore,
+                          TokenProfileResolver tokenProfileResolver, RefreshSingleFlight refreshSingleFlight,
+                          AuthMetrics metrics, AuditLog auditLog) {
         this.jwtProvider = jwtProvider;
+        this.revocationStore = revocationStore;
+        this.tokenProfileResolver = tokenProfileResolver;
+        this.refreshSingleFlight = refreshSingleFlight;
+        this.metrics = metrics;
+        this.auditLog = auditLog;
     }
 
     // Refresh Token 재발급 API
     @PostMapping("/refresh")
-    public ResponseEntity<?> refreshToken(@RequestHeader("Refresh-Token") String refreshToken) {
-        // Refresh Token 검증
-        if (refreshToken == null || !jwtProvider.validateToken(refreshToken)) {
+    public ResponseEntity<?> refreshToken(@RequestHeader("Refresh-Token") String refreshToken,
+                                          HttpServletRequest request) {
+        long start = System.nanoTime();
+        // Refresh Token 검증 (한 번만 파싱, 요청 제한 필터가 이미 검증했으면 그 결과 사용)
+        TokenParseResult result = request.getAttribute(RateLimitFilter.REFRESH_TOKEN_ATTRIBUTE) instanceof TokenParseResult parsedByFilter
+                ? parsedByFilter
+                : jwtProvider.parse(refreshToken);
+        if (!result.isValid()) {
+            auditLog.refreshRejected(AuditReason.of(result.failure()), null, request.getRemoteAddr());
+            record(metrics.refreshInvalid(), start);
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("유효하지 않은 Refresh Token입니다.");
         }
-        String tokenType = jwtProvider.getTokenType(refreshToken);
-        if (!"refresh".equals(tokenType)) {
+        ParsedToken parsed = result.token();
+        if (!parsed.isRefreshToken()) {
+            auditLog.refreshRejected(AuditReason.NOT_REFRESH_TOKEN, parsed.subject(), request.getRemoteAddr());
+            record(metrics.refreshNotRefreshToken(), start);
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Refresh Token이 아닙니다.");
         }
-        // 토큰의 subject(사용자 식별자)를 이용해 새로운 토큰 발급
-        String subject = jwtProvider.getSubject(refreshToken);
-        String newAccessToken = jwtProvider.createAccessToken(subject);
-        String newRefreshToken = jwtProvider.createRefreshToken(subject);
+        // 같은 Refresh Token 의 동시 요청은 첫 요청의 access token 을 함께 사용 (grace window 동안, 새 refresh token 은 첫 요청에만)
+        RefreshSingleFlight.IssuedTokens issued = refreshSingleFlight.execute(parsed.id(), () -> rotate(parsed));
+        if (issued == null) {
+            auditLog.refreshRejected(AuditReason.REVOKED, parsed.subject(), request.getRemoteAddr());
+            record(metrics.refreshRevoked(), start);
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("폐기된 Refresh Token입니다.");
+        }
 
-        Map<String, String> tokens = new HashMap<>();
-        tokens.put("accessToken", newAccessToken);
-        tokens.put("refreshToken", newRefreshToken);
+        Map<String, Object> tokens = new HashMap<>();
+        tokens.put("accessToken", issued.accessToken());
+        if (issued.refreshToken() != null) {
+            tokens.put("refreshToken", issued.refreshToken());
+        }
+        // access token 남은 시간(초): 401 을 받기 전에 미리 재발급하도록
+        tokens.put("expiresIn", issued.expiresIn());
 
+        auditLog.refresh(parsed.subject(), request.getRemoteAddr());
+        record(metrics.refreshSuccess(), start);
         return ResponseEntity.ok(tokens);
     }
+
+    // Refresh Token 회전: 사용한 토큰은 폐기하고 새 쌍 발급
+    // 로그아웃 또는 이미 재발급에 사용된 토큰이면 null (폐기 확인과 등록을 한 번에 처리)
+    private RefreshSingleFlight.IssuedTokens rotate(ParsedToken parsed) {
+        if (!revocationStore.revoke(parsed)) {
+            return null;
+        }
+        // 토큰의 subject(사용자 식별자)를 이용해 새로운 토큰 발급
+        String subject = parsed.subject();
+        Instant accessTokenExpiresAt = Instant.now().plus(jwtProvider.accessTokenValidity());
+        // 재발급 시점의 최신 프로필을 다시 실음 (비활성화 상태면 null)
+        String newAccessToken = jwtProvider.createAccessToken(subject,
+                tokenProfileResolver.isEnabled() ? tokenProfileResolver.resolve(Long.valueOf(subject)) : null);
+        String newRefreshToken = jwtProvider.createRefreshToken(subject);
+        return new RefreshSingleFlight.IssuedTokens(newAccessToken, newRefreshToken, accessTokenExpiresAt);
+    }
+
+    private static void record(Timer timer, long start) {
+        timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
 }
@@ -0,0 +1,88 @@
+package com.ll.b20250227.controller;
+
+import com.ll.b20250227.jwt.IntrospectionProperties;
+import com.ll.b20250227.jwt.TokenIntrospection;
+import com.ll.b20250227.jwt.TokenIntrospector;
+import com.ll.b20250227.metrics.AuthMetrics;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// 내부 서비스용 토큰 일괄 확인 (게이트웨이가 토큰마다 /api/user 를 호출하던 것을 대신함)
+// 사용자 토큰이 아니라 X-Introspection-Key 로 호출자를 확인 (SecurityConfig 에서는 permitAll)
+@RestController
+@RequestMapping("/api")
+public class IntrospectionController {
+
+    static final String API_KEY_HEADER = "X-Introspection-Key";
+
+    private final TokenIntrospector tokenIntrospector;
+    private final List<byte[]> apiKeys;
+    private final int maxTokens;
+    private final AuthMetrics metrics;
+
+    public IntrospectionController(TokenIntrospector tokenIntrospector, IntrospectionProperties properties,
+                                   AuthMetrics metrics) {
+        this.tokenIntrospector = tokenIntrospector;
+        this.apiKeys = properties.apiKeys().stream().map(key -> key.getBytes(StandardCharsets.UTF_8)).toList();
+        this.maxTokens = properties.maxTokens();
+        this.metrics = metrics;
+    }
+
+    // POST /api/introspect {"tokens": ["eyJ...", ...]}
+    // -> {"results": [{"active": true, "subject": "...", "type": "access", "exp": 1740787200}, {"active": false}, ...]}
+    // 결과는 요청 순서대로, Cache-Control max-age 는 가장 먼저 만료되는 활성 토큰까지 (introspection.max-cache-age 이하)
+    @PostMapping("/introspect")
+    public ResponseEntity<?> introspect(@RequestHeader(value = API_KEY_HEADER, required = false) String apiKey,
+                                        @RequestBody IntrospectionRequest request) {
+        if (!isAllowed(apiKey)) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("유효하지 않은 introspection 키입니다.");
+        }
+        List<String> tokens = request.tokens() != null ? request.tokens() : List.of();
+        if (tokens.size() > maxTokens) {
+            return ResponseEntity.badRequest().body("한 번에 확인할 수 있는 토큰은 최대 " + maxTokens + "개입니다.");
+        }
+
+        long start = System.nanoTime();
+        List<TokenIntrospection> results = tokenIntrospector.introspect(tokens);
+        Duration maxAge = tokenIntrospector.cacheMaxAge(results, Instant.now());
+        metrics.introspect().record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+
+        // 호출자(게이트웨이) 로컬 캐시용, 공유 캐시에는 저장하지 않음
+        CacheControl cacheControl = maxAge.isZero()
+                ? CacheControl.noStore()
+                : CacheControl.maxAge(maxAge).cachePrivate();
+        return ResponseEntity.ok()
+                .cacheControl(cacheControl)
+                .body(Map.of("results", results));
+    }
+
+    // 키 길이 외의 정보가 응답 시간으로 새지 않도록 상수 시간 비교
+    private boolean isAllowed(String apiKey) {
+        if (apiKey == null) {
+            return false;
+        }
+        byte[] given = apiKey.getBytes(StandardCharsets.UTF_8);
+        boolean allowed = false;
+        for (byte[] key : apiKeys) {
+            allowed |= MessageDigest.isEqual(key, given);
+        }
+        return allowed;
+    }
+
+    public record IntrospectionRequest(List<String> tokens) {
+    }
+}
@@ -0,0 +1,59 @@
+package com.ll.b20250227.controller;
+
+import com.ll.b20250227.jwt.JwtKeyring;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.math.BigInteger;
+import java.security.interfaces.ECPublicKey;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// 비대칭 키(ES256)의 공개키를 JWKS 로 공개해서 다른 서비스가 직접 토큰을 검증할 수 있게 함
+// HS256 비밀키는 공개하지 않음
+@RestController
+public class JwksController {
+
+    private final Map<String, Object> jwks;
+
+    public JwksController(JwtKeyring keyring) {
+        // 키링은 시작 시 고정되므로 응답도 한 번만 만들어 둠
+        List<Map<String, Object>> keys = new ArrayList<>();
+        for (JwtKeyring.SigningKey key : keyring.all()) {
+            if (key.verificationKey() instanceof ECPublicKey publicKey) {
+                Map<String, Object> jwk = new LinkedHashMap<>();
+                jwk.put("kty", "EC");
+                jwk.put("crv", "P-256");
+                jwk.put("kid", key.kid());
+                jwk.put("use", "sig");
+                jwk.put("alg", key.algorithm().getValue());
+                jwk.put("x", coordinate(publicKey.getW().getAffineX()));
+                jwk.put("y", coordinate(publicKey.getW().getAffineY()));
+                keys.add(jwk);
+            }
+        }
+        this.jwks = Map.of("keys", List.copyOf(keys));
+    }
+
+    @GetMapping("/.well-known/jwks.json")
+    public ResponseEntity<Map<String, Object>> jwks() {
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(5, TimeUnit.MINUTES).cachePublic())
+                .body(jwks);
+    }
+
+    // 키링은 P-256 키만 받으므로 (JwtKeyring) 좌표는 부호 없는 32바이트 고정 길이로 인코딩
+    private static String coordinate(BigInteger value) {
+        byte[] bytes = value.toByteArray();
+        byte[] fixed = new byte[32];
+        int length = Math.min(bytes.length, 32);
+        System.arraycopy(bytes, bytes.length - length, fixed, 32 - length, length);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(fixed);
+    }
+}
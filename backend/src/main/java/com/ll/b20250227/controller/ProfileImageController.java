@@ -0,0 +1,118 @@
+package com.ll.b20250227.controller;
+
+import com.ll.b20250227.entity.User;
+import com.ll.b20250227.image.ProfileImageStore;
+import com.ll.b20250227.repository.UserRepository;
+import com.ll.b20250227.repository.UserWriteBehind;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+// 프로필 이미지 프록시 (<img> 태그에서 바로 쓰므로 인증 없이 접근, SecurityConfig)
+// /images/users/** 는 DB 조회와 CDN 호출이 일어날 수 있어 IP 별로 제한 (RateLimitFilter)
+//   GET /images/users/{userId}?size=128   -> 302 /images/{hash}-{size}.{ext} (짧게 캐시, 이미지가 바뀌면 대상이 바뀜)
+//   GET /images/{hash}-{size}.{ext}       -> 변환된 이미지 (내용 기준 이름이라 1년 immutable 캐시)
+@RestController
+public class ProfileImageController {
+
+    private static final Logger log = LoggerFactory.getLogger(ProfileImageController.class);
+
+    private static final int DEFAULT_SIZE = 128;
+    private static final CacheControl REDIRECT_CACHE = CacheControl.maxAge(Duration.ofMinutes(1)).cachePublic();
+    private static final String IMMUTABLE_CACHE = CacheControl.maxAge(Duration.ofDays(365)).cachePublic()
+            .immutable().getHeaderValue();
+
+    // Tomcat NIO 커넥터의 sendfile 요청 속성
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private final ProfileImageStore imageStore;
+    private final UserRepository userRepository;
+    private final UserWriteBehind userWriteBehind;
+
+    public ProfileImageController(ProfileImageStore imageStore, UserRepository userRepository,
+                                  UserWriteBehind userWriteBehind) {
+        this.imageStore = imageStore;
+        this.userRepository = userRepository;
+        this.userWriteBehind = userWriteBehind;
+    }
+
+    @GetMapping("/images/users/{userId}")
+    public ResponseEntity<?> userImage(@PathVariable Long userId,
+                                       @RequestParam(defaultValue = "" + DEFAULT_SIZE) int size) {
+        if (!imageStore.supportsSize(size)) {
+            return ResponseEntity.badRequest().body("지원하지 않는 이미지 크기입니다.");
+        }
+        User user = userWriteBehind.findCurrent(userId);
+        if (user == null) {
+            user = userRepository.findById(userId).orElse(null);
+        }
+        if (user == null || user.getProfileImageUrl() == null) {
+            return ResponseEntity.notFound().build();
+        }
+        try {
+            ProfileImageStore.StoredImage image = imageStore.resolve(user.getProfileImageUrl());
+            return ResponseEntity.status(HttpServletResponse.SC_FOUND)
+                    .location(URI.create("/images/" + image.fileName(size)))
+                    .cacheControl(REDIRECT_CACHE)
+                    .build();
+        } catch (ProfileImageStore.NotAllowedException e) {
+            // 허용 목록을 벗어난 주소로는 보내지 않음
+            log.warn("허용되지 않은 프로필 이미지 주소입니다: userId={}, {}", userId, e.getMessage());
+            return ResponseEntity.notFound().build();
+        } catch (IOException e) {
+            // 변환에 실패하면 (허용 목록을 통과한) 원본으로 보내서 화면은 깨지지 않게 함 (캐시하지 않음)
+            log.warn("프로필 이미지를 준비하지 못했습니다: userId={}, {}", userId, e.getMessage());
+            return ResponseEntity.status(HttpServletResponse.SC_FOUND)
+                    .location(URI.create(user.getProfileImageUrl()))
+                    .cacheControl(CacheControl.noStore())
+                    .build();
+        }
+    }
+
+    @GetMapping("/images/{hash:[0-9a-f]{64}}-{size:\\d{1,4}}.{extension:jpg|png}")
+    public void variant(@PathVariable String hash, @PathVariable int size, @PathVariable String extension,
+                        HttpServletRequest request, HttpServletResponse response) throws IOException {
+        Path file = imageStore.variantFile(hash, size, extension);
+        if (file == null) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        String etag = "\"" + hash + "-" + size + "\"";
+        response.setHeader(HttpHeaders.CACHE_CONTROL, IMMUTABLE_CACHE);
+        response.setHeader(HttpHeaders.ETAG, etag);
+        if (etag.equals(request.getHeader(HttpHeaders.IF_NONE_MATCH))) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+        response.setContentType("png".equals(extension) ? "image/png" : "image/jpeg");
+
+        long length = Files.size(file);
+        response.setContentLengthLong(length);
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            // 커넥터가 소켓으로 직접 보냄 (sendfile, 사용자 공간 복사 없음)
+            request.setAttribute(SENDFILE_FILENAME, file.toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, 0L);
+            request.setAttribute(SENDFILE_END, length);
+            return;
+        }
+        // sendfile 을 쓸 수 없는 환경: 일반 스트림 복사 (변환된 이미지는 수십 KB 라 충분함)
+        Files.copy(file, response.getOutputStream());
+    }
+}
@@ -1,33 +1,58 @@
 package com.ll.b20250227.controller;
 
+import com.ll.b20250227.cache.UserProfileCache;
 import com.ll.b20250227.entity.User;
+import com.ll.b20250227.jwt.JwtProvider;
+import com.ll.b20250227.jwt.RefreshSingleFlight;
+import com.ll.b20250227.jwt.TokenParseResult;
+import com.ll.b20250227.jwt.TokenProfile;
+import com.ll.b20250227.jwt.TokenProfileResolver;
+import com.ll.b20250227.jwt.TokenRevocationStore;
+import com.ll.b20250227.jwt.TokenUserDetails;
+import com.ll.b20250227.metrics.AuthMetrics;
 import com.ll.b20250227.repository.UserRepository;
-import jakarta.servlet.http.HttpServletRequest;
-import jakarta.servlet.http.HttpServletResponse;
+import com.ll.b20250227.repository.UserWriteBehind;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.oauth2.core.user.OAuth2User;
-import org.springframework.security.web.authentication.logout.SecurityContextLogoutHandler;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
-import java.util.HashMap;
 import java.util.Map;
-import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 @RestController
 @RequestMapping("/api")
 public class UserController {
 
     private final UserRepository userRepository;
+    private final JwtProvider jwtProvider;
+    private final TokenRevocationStore revocationStore;
+    private final UserProfileCache userProfileCache;
+    private final UserWriteBehind userWriteBehind;
+    private final TokenProfileResolver tokenProfileResolver;
+    private final RefreshSingleFlight refreshSingleFlight;
+    private final AuthMetrics metrics;
 
-    public UserController(UserRepository userRepository) {
+    public UserController(UserRepository userRepository, JwtProvider jwtProvider,
+                          TokenRevocationStore revocationStore, UserProfileCache userProfileCache,
+                          UserWriteBehind userWriteBehind, TokenProfileResolver tokenProfileResolver,
+                          RefreshSingleFlight refreshSingleFlight, AuthMetrics metrics) {
         this.userRepository = userRepository;
+        this.jwtProvider = jwtProvider;
+        this.revocationStore = revocationStore;
+        this.userProfileCache = userProfileCache;
+        this.userWriteBehind = userWriteBehind;
+        this.tokenProfileResolver = tokenProfileResolver;
+        this.refreshSingleFlight = refreshSingleFlight;
+        this.metrics = metrics;
     }
 
     @GetMapping("/user")
-    public ResponseEntity<?> getUserInfo() {
+    public ResponseEntity<?> getUserInfo(WebRequest webRequest) {
         // JWT 필터가 인증에 성공했다면, SecurityContext에 UserDetails가 들어있음
         var auth = SecurityContextHolder.getContext().getAuthentication();
         if (auth == null || !auth.isAuthenticated()) {
@@ -44,23 +69,76 @@ public class UserController {
         String userIdStr = userDetails.getUsername();
         Long userId = Long.valueOf(userIdStr);
 
-        // DB 조회
-        var userOptional = userRepository.findById(userId);
-        if (userOptional.isEmpty()) {
-            return ResponseEntity.status(404).body("사용자를 찾을 수 없습니다.");
+        long start = System.nanoTime();
+        // 캐시에 직렬화된 응답이 있으면 DB 조회/직렬화 생략
+        UserProfileCache.CachedProfile profile = userProfileCache.get(userId);
+        Timer timer = metrics.userInfoCache();
+        TokenProfile tokenProfile = userDetails instanceof TokenUserDetails tokenUser ? tokenUser.getProfile() : null;
+        if (profile == null && tokenProfileResolver.isCurrent(userId, tokenProfile)) {
+            // access token 의 프로필 클레임으로 응답 (같은 직렬화라 ETag 도 동일)
+            // 토큰에 이메일이 없으면 이메일만 조회, 다른 노드에서 바뀐 프로필을 이 노드가 모를 수 있으므로 캐시에 넣지 않음
+            timer = metrics.userInfoToken();
+            profile = userProfileCache.render(User.builder()
+                    .id(userId)
+                    .nickname(tokenProfile.nickname())
+                    .email(tokenProfileResolver.email(userId, tokenProfile))
+                    .profileImageUrl(tokenProfile.profileImageUrl())
+                    .build());
+        }
+        if (profile == null) {
+            timer = metrics.userInfoDatabase();
+            // 로그인 직후에는 아직 DB 에 반영되지 않았을 수 있으므로 write-behind 대기 값 먼저 확인
+            User user = userWriteBehind.findPending(userId);
+            if (user == null) {
+                // DB 조회
+                var userOptional = userRepository.findById(userId);
+                if (userOptional.isEmpty()) {
+                    record(metrics.userInfoNotFound(), start);
+                    return ResponseEntity.status(404).body("사용자를 찾을 수 없습니다.");
+                }
+                user = userOptional.get();
+            }
+            profile = userProfileCache.put(user);
+        }
+
+        // If-None-Match 가 같으면 304 (본문 없음)
+        if (webRequest.checkNotModified(profile.etag())) {
+            record(metrics.userInfoNotModified(), start);
+            return null;
         }
 
-        User user = userOptional.get();
-        Map<String, Object> response = new HashMap<>();
-        response.put("id", user.getId());
-        response.put("nickname", user.getNickname());
-        response.put("email", user.getEmail());
-        response.put("profileImageUrl", user.getProfileImageUrl());
+        record(timer, start);
 
-        return ResponseEntity.ok(response);
+        // 브라우저는 저장하되 매번 ETag 로 재검증
+        return ResponseEntity.ok()
+                .eTag(profile.etag())
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(profile.body());
     }
+
     @PostMapping("/logout")
-    public ResponseEntity<?> logout() {
+    public ResponseEntity<?> logout(@RequestHeader(value = "Authorization", required = false) String authorization,
+                                    @RequestHeader(value = "Refresh-Token", required = false) String refreshToken) {
+        // 서버 측 로그아웃: 전달된 Access/Refresh Token 을 만료 시각까지 폐기
+        if (authorization != null && authorization.startsWith("Bearer ")) {
+            revoke(authorization.substring(7));
+        }
+        if (refreshToken != null) {
+            revoke(refreshToken);
+        }
         return ResponseEntity.ok(Map.of("message", "로그아웃 되었습니다."));
     }
+
+    private static void record(Timer timer, long start) {
+        timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    private void revoke(String token) {
+        TokenParseResult result = jwtProvider.parse(token);
+        if (result.isValid()) {
+            revocationStore.revoke(result.token());
+            refreshSingleFlight.forget(result.token().id());
+        }
+    }
 }
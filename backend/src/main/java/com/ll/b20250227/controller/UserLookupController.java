@@ -0,0 +1,96 @@
+package com.ll.b20250227.controller;
+
+import com.ll.b20250227.entity.User;
+import com.ll.b20250227.repository.UserDisplayRow;
+import com.ll.b20250227.repository.UserRepository;
+import com.ll.b20250227.repository.UserWriteBehind;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// 여러 사용자의 표시 정보(닉네임, 프로필 이미지)를 한 번에 조회
+// 목록 화면에서 사용자마다 호출하던 것을 요청 한 번, IN 쿼리 한 번으로 줄임
+@RestController
+@RequestMapping("/api")
+public class UserLookupController {
+
+    private static final String NICKNAME = "nickname";
+    private static final String PROFILE_IMAGE_URL = "profileImageUrl";
+    private static final Set<String> FIELDS = Set.of(NICKNAME, PROFILE_IMAGE_URL);
+
+    private final UserRepository userRepository;
+    private final UserWriteBehind userWriteBehind;
+    private final int maxIds;
+
+    public UserLookupController(UserRepository userRepository, UserWriteBehind userWriteBehind,
+                                @Value("${user.batch-lookup.max-ids:100}") int maxIds) {
+        this.userRepository = userRepository;
+        this.userWriteBehind = userWriteBehind;
+        this.maxIds = maxIds;
+    }
+
+    // GET /api/users?ids=1,2,3[&fields=nickname]
+    // 중복 id 는 한 번만 조회하고, 응답은 요청한 순서대로 (없는 사용자는 missing 에)
+    @GetMapping("/users")
+    public ResponseEntity<?> getUsers(@RequestParam List<Long> ids,
+                                      @RequestParam(required = false) Set<String> fields) {
+        // ids=1,,2 처럼 빈 값은 null 로 바인딩됨
+        if (ids.contains(null)) {
+            return ResponseEntity.badRequest().body("ids 에 빈 값이 있습니다.");
+        }
+        Set<Long> uniqueIds = new LinkedHashSet<>(ids);
+        if (uniqueIds.size() > maxIds) {
+            return ResponseEntity.badRequest().body("한 번에 조회할 수 있는 사용자는 최대 " + maxIds + "명입니다.");
+        }
+        Set<String> selected = fields == null || fields.isEmpty() ? FIELDS : fields;
+        if (!FIELDS.containsAll(selected)) {
+            return ResponseEntity.badRequest().body("fields 는 " + String.join(", ", FIELDS) + " 중에서 선택해야 합니다.");
+        }
+
+        Map<Long, UserDisplayRow> rows = new HashMap<>();
+        if (!uniqueIds.isEmpty()) {
+            for (UserDisplayRow row : userRepository.findDisplayRows(uniqueIds)) {
+                rows.put(row.id(), row);
+            }
+        }
+
+        List<Map<String, Object>> users = new ArrayList<>(uniqueIds.size());
+        List<Long> missing = new ArrayList<>();
+        for (Long id : uniqueIds) {
+            // 로그인 직후 아직 DB 에 반영되지 않은 값이 있으면 그 값을 사용
+            User pending = userWriteBehind.findPending(id);
+            UserDisplayRow row = pending != null
+                    ? new UserDisplayRow(id, pending.getNickname(), pending.getProfileImageUrl())
+                    : rows.get(id);
+            if (row == null) {
+                missing.add(id);
+                continue;
+            }
+            Map<String, Object> user = new LinkedHashMap<>();
+            user.put("id", row.id());
+            if (selected.contains(NICKNAME)) {
+                user.put(NICKNAME, row.nickname());
+            }
+            if (selected.contains(PROFILE_IMAGE_URL)) {
+                user.put(PROFILE_IMAGE_URL, row.profileImageUrl());
+            }
+            users.add(user);
+        }
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("users", users);
+        response.put("missing", missing);
+        return ResponseEntity.ok(response);
+    }
+}
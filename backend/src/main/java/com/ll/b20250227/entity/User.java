@@ -23,4 +23,7 @@ public class User {
 
     // OAuth2 제공자 정보 (카카오, 구글 등)
     private String provider;
+
+    // 프로필(닉네임/이메일/이미지)이 바뀔 때마다 증가, access token 의 프로필 클레임이 최신인지 판단하는 데 사용
+    private Long profileVersion;
 }
\ No newline at end of file
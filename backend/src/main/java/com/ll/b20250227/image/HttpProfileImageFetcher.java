@@ -0,0 +1,89 @@
+package com.ll.b20250227.image;
+
+import com.ll.b20250227.oauth.KakaoHttpClientConfig;
+import com.ll.b20250227.oauth.OutboundLatencyInterceptor;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+
+// 카카오 CDN 에서 원본 이미지를 받아옴 (kakao.http{call=profile_image})
+// 로그인 호출과 커넥션 풀을 나눠서 이미지가 몰려도 로그인이 커넥션을 기다리지 않도록 함
+// 리다이렉트는 따라가지 않음: 허용된 호스트가 3xx 로 내부망 주소를 가리켜도 요청하지 않도록 (allowed-hosts 는 첫 URL 만 확인)
+@Component
+public class HttpProfileImageFetcher implements ProfileImageFetcher {
+
+    private final CloseableHttpClient httpClient;
+    private final RestClient restClient;
+
+    public HttpProfileImageFetcher(ImageProxyProperties properties, MeterRegistry meterRegistry) {
+        this.httpClient = HttpClients.custom()
+                .setConnectionManager(PoolingHttpClientConnectionManagerBuilder.create()
+                        .setMaxConnTotal(properties.maxConnections())
+                        .setMaxConnPerRoute(properties.maxConnections())
+                        .setDefaultConnectionConfig(ConnectionConfig.custom()
+                                .setConnectTimeout(Timeout.of(properties.connectTimeout()))
+                                .setSocketTimeout(Timeout.of(properties.readTimeout()))
+                                .build())
+                        .build())
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.of(properties.connectionRequestTimeout()))
+                        .setResponseTimeout(Timeout.of(properties.readTimeout()))
+                        .build())
+                .disableRedirectHandling()
+                .build();
+        this.restClient = RestClient.builder()
+                .requestFactory(new HttpComponentsClientHttpRequestFactory(httpClient))
+                .requestInterceptor(new OutboundLatencyInterceptor(KakaoHttpClientConfig.PROFILE_IMAGE_CALL, meterRegistry))
+                .build();
+    }
+
+    @Override
+    public byte[] fetch(URI uri, long maxBytes) throws IOException {
+        try {
+            return restClient.get()
+                    .uri(uri)
+                    .accept(MediaType.IMAGE_JPEG, MediaType.IMAGE_PNG, MediaType.ALL)
+                    .exchange((request, response) -> {
+                        if (!response.getStatusCode().is2xxSuccessful()) {
+                            throw new IOException("이미지를 가져올 수 없습니다: " + response.getStatusCode());
+                        }
+                        MediaType contentType = response.getHeaders().getContentType();
+                        if (contentType != null && !"image".equals(contentType.getType())) {
+                            throw new IOException("이미지가 아닙니다: " + contentType);
+                        }
+                        // 최대 크기 + 1 바이트까지만 읽어서 넘치는지 확인
+                        try (InputStream body = response.getBody()) {
+                            byte[] bytes = body.readNBytes((int) Math.min(Integer.MAX_VALUE - 8, maxBytes + 1));
+                            if (bytes.length > maxBytes) {
+                                throw new IOException("이미지가 너무 큽니다: " + uri);
+                            }
+                            return bytes;
+                        }
+                    });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } catch (RestClientException e) {
+            throw new IOException(e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws IOException {
+        httpClient.close();
+    }
+}
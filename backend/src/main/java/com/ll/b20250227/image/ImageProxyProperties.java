@@ -0,0 +1,40 @@
+package com.ll.b20250227.image;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+// 프로필 이미지 프록시 설정 (image-proxy.*)
+@ConfigurationProperties(prefix = "image-proxy")
+public record ImageProxyProperties(
+        // 변환한 이미지를 저장하는 디렉터리 (노드마다 로컬 디스크)
+        Path cacheDir,
+        // 만들어 두는 정사각형 크기(px), 요청은 이 중 하나여야 함
+        @DefaultValue({"64", "128", "256"}) List<Integer> sizes,
+        // 이 호스트(또는 하위 도메인)의 이미지만 가져옴
+        @DefaultValue("kakaocdn.net") List<String> allowedHosts,
+        // 원본 이미지 최대 크기와 최대 가로/세로 (디코딩 전에 확인)
+        @DefaultValue("5MB") DataSize maxSourceSize,
+        @DefaultValue("4096") int maxSourceDimension,
+        // 원본 URL -> 저장된 이미지 매핑을 메모리에 기억하는 개수
+        @DefaultValue("100000") long maxUrls,
+        // 내려받기/변환에 실패한 URL 을 다시 시도하지 않는 시간 (깨진 이미지 요청마다 CDN 을 부르지 않도록)
+        @DefaultValue("1m") Duration failureTtl,
+        // 원본 이미지 전용 커넥션 풀 (카카오 로그인 호출과 따로)
+        @DefaultValue("20") int maxConnections,
+        @DefaultValue("2s") Duration connectTimeout,
+        @DefaultValue("5s") Duration readTimeout,
+        // 풀이 가득 찼을 때 커넥션을 기다리는 최대 시간
+        @DefaultValue("1s") Duration connectionRequestTimeout
+) {
+
+    public ImageProxyProperties {
+        if (cacheDir == null) {
+            cacheDir = Path.of(System.getProperty("java.io.tmpdir"), "backend-image-cache");
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.ll.b20250227.image;
+
+import java.io.IOException;
+import java.net.URI;
+
+// 원본 프로필 이미지 다운로드 (기본은 카카오 커넥션 풀을 쓰는 HttpProfileImageFetcher, 테스트에서는 대역으로 교체)
+public interface ProfileImageFetcher {
+
+    // 원본 바이트, 최대 크기를 넘거나 이미지가 아니면 IOException
+    byte[] fetch(URI uri, long maxBytes) throws IOException;
+}
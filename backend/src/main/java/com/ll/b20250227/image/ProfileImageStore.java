@@ -0,0 +1,232 @@
+package com.ll.b20250227.image;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.regex.Pattern;
+
+// 프로필 이미지 디스크 캐시 (content-addressed)
+// 원본 URL 마다 한 번만 내려받아 설정된 크기들로 변환하고, 원본 내용의 SHA-256 으로 파일 이름을 정함
+//   <cacheDir>/<hash 앞 2자리>/<hash>-<size>.<jpg|png>  변환된 이미지 (내용이 같으면 URL 이 달라도 공유)
+//   <cacheDir>/urls/<SHA-256(url)>                    URL -> "<hash>.<ext>" (재시작 후에도 다시 받지 않도록)
+@Component
+public class ProfileImageStore {
+
+    private static final Logger log = LoggerFactory.getLogger(ProfileImageStore.class);
+
+    private static final Pattern HASH = Pattern.compile("[0-9a-f]{64}");
+
+    private final ProfileImageFetcher fetcher;
+    private final ImageProxyProperties properties;
+    private final Path urlDir;
+    // 원본 URL -> 저장된 이미지, 같은 URL 의 동시 요청은 내려받기 한 번을 함께 기다림
+    private final AsyncCache<String, StoredImage> images;
+    // 최근에 실패한 원본 URL -> 실패 이유 (실패한 future 는 위 캐시에 남지 않으므로 따로 기억)
+    private final Cache<String, String> failures;
+    // 내려받기/변환은 블로킹 I/O 이므로 공용 ForkJoinPool 대신 가상 스레드에서 실행
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    public ProfileImageStore(ProfileImageFetcher fetcher, ImageProxyProperties properties) throws IOException {
+        this.fetcher = fetcher;
+        this.properties = properties;
+        this.urlDir = properties.cacheDir().resolve("urls");
+        Files.createDirectories(urlDir);
+        this.images = Caffeine.newBuilder()
+                .maximumSize(properties.maxUrls())
+                .executor(executor)
+                .buildAsync();
+        this.failures = Caffeine.newBuilder()
+                .maximumSize(properties.maxUrls())
+                .expireAfterWrite(properties.failureTtl())
+                .build();
+    }
+
+    public boolean supportsSize(int size) {
+        return properties.sizes().contains(size);
+    }
+
+    // 원본 URL 의 이미지를 준비 (없으면 내려받아 변환), 실패하면 IOException
+    // 허용되지 않은 주소면 NotAllowedException (원본으로 보내면 안 되는 경우)
+    public StoredImage resolve(String sourceUrl) throws IOException {
+        URI uri = allowedUri(sourceUrl);
+        String failure = failures.getIfPresent(sourceUrl);
+        if (failure != null) {
+            throw new IOException("최근에 실패한 이미지입니다: " + failure);
+        }
+        CompletableFuture<StoredImage> future = images.get(sourceUrl, (url, executor) ->
+                CompletableFuture.supplyAsync(() -> {
+                    try {
+                        return load(url, uri);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }, executor));
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            IOException failed = e.getCause() instanceof UncheckedIOException io
+                    ? io.getCause()
+                    : new IOException(e.getCause());
+            failures.put(sourceUrl, String.valueOf(failed.getMessage()));
+            throw failed;
+        }
+    }
+
+    // 제공할 변환 파일 (hash/size/ext 는 요청 경로에서 온 값이므로 형식을 확인한 뒤 경로를 만듦)
+    public Path variantFile(String hash, int size, String extension) {
+        if (!HASH.matcher(hash).matches() || !supportsSize(size)
+                || !(ImageResizer.JPEG.equals(extension) || ImageResizer.PNG.equals(extension))) {
+            return null;
+        }
+        Path file = variantPath(hash, size, extension);
+        return Files.isRegularFile(file) ? file : null;
+    }
+
+    // 사용자의 프로필 이미지 URL 이 바뀌면 이전 URL 의 매핑을 지움 (변환 파일은 내용 기준이라 남겨 둠)
+    public void invalidate(String sourceUrl) {
+        if (sourceUrl == null) {
+            return;
+        }
+        images.synchronous().invalidate(sourceUrl);
+        failures.invalidate(sourceUrl);
+        try {
+            Files.deleteIfExists(urlDir.resolve(sha256Hex(sourceUrl.getBytes(StandardCharsets.UTF_8))));
+        } catch (IOException e) {
+            log.warn("프로필 이미지 캐시 항목을 지우지 못했습니다: {}", sourceUrl, e);
+        }
+    }
+
+    private StoredImage load(String sourceUrl, URI uri) throws IOException {
+        Path urlFile = urlDir.resolve(sha256Hex(sourceUrl.getBytes(StandardCharsets.UTF_8)));
+        StoredImage stored = readUrlFile(urlFile);
+        if (stored != null) {
+            return stored;
+        }
+
+        byte[] source = fetcher.fetch(uri, properties.maxSourceSize().toBytes());
+        String hash = sha256Hex(source);
+        BufferedImage image = ImageResizer.decode(source, properties.maxSourceDimension());
+        String extension = ImageResizer.extensionFor(image);
+        for (int size : properties.sizes()) {
+            Path variant = variantPath(hash, size, extension);
+            // 같은 내용을 이미 다른 URL 로 변환해 두었으면 그대로 사용
+            if (!Files.exists(variant)) {
+                writeAtomically(variant, ImageResizer.resize(image, size, extension));
+            }
+        }
+        stored = new StoredImage(hash, extension);
+        writeAtomically(urlFile, (hash + "." + extension).getBytes(StandardCharsets.US_ASCII));
+        return stored;
+    }
+
+    private StoredImage readUrlFile(Path urlFile) throws IOException {
+        String value;
+        try {
+            value = Files.readString(urlFile, StandardCharsets.US_ASCII).trim();
+        } catch (NoSuchFileException e) {
+            return null;
+        }
+        int dot = value.indexOf('.');
+        if (dot < 0) {
+            return null;
+        }
+        StoredImage stored = new StoredImage(value.substring(0, dot), value.substring(dot + 1));
+        // 변환 파일이 지워졌으면 다시 받음
+        for (int size : properties.sizes()) {
+            if (variantFile(stored.hash(), size, stored.extension()) == null) {
+                return null;
+            }
+        }
+        return stored;
+    }
+
+    // 허용된 호스트의 http(s) URL 만 (DB 값이 오염돼도 내부망 주소로 요청하지 않도록)
+    private URI allowedUri(String sourceUrl) throws NotAllowedException {
+        URI uri;
+        try {
+            uri = URI.create(sourceUrl);
+        } catch (IllegalArgumentException e) {
+            throw new NotAllowedException("잘못된 이미지 URL 입니다: " + sourceUrl);
+        }
+        String scheme = uri.getScheme() == null ? "" : uri.getScheme().toLowerCase(Locale.ROOT);
+        String host = uri.getHost() == null ? "" : uri.getHost().toLowerCase(Locale.ROOT);
+        boolean allowed = properties.allowedHosts().stream()
+                .anyMatch(allowedHost -> host.equals(allowedHost) || host.endsWith("." + allowedHost));
+        if (!(scheme.equals("http") || scheme.equals("https")) || !allowed) {
+            throw new NotAllowedException("허용되지 않은 이미지 주소입니다: " + sourceUrl);
+        }
+        return uri;
+    }
+
+    private Path variantPath(String hash, int size, String extension) {
+        return properties.cacheDir().resolve(hash.substring(0, 2)).resolve(hash + "-" + size + "." + extension);
+    }
+
+    // 다른 노드/스레드가 읽는 중에 반쯤 쓴 파일이 보이지 않도록 임시 파일에 쓰고 이동
+    private static void writeAtomically(Path target, byte[] bytes) throws IOException {
+        Files.createDirectories(target.getParent());
+        Path temp = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".tmp");
+        try {
+            Files.write(temp, bytes);
+            try {
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private static String sha256Hex(byte[] bytes) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.close();
+    }
+
+    // 원본 URL 이 형식에 맞지 않거나 허용된 호스트가 아님
+    public static class NotAllowedException extends IOException {
+
+        public NotAllowedException(String message) {
+            super(message);
+        }
+    }
+
+    // 변환 파일 이름: <hash>-<size>.<extension>
+    public record StoredImage(String hash, String extension) {
+
+        public String fileName(int size) {
+            return hash + "-" + size + "." + extension;
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.ll.b20250227.jwt;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// 폐기 목록 앞단의 확률적 사전 필터 (false positive 는 있지만 false negative 는 없음)
+// 문자열을 바이트로 변환하지 않고 char 단위로 해시해서 조회 시 할당이 없음
+final class BloomFilter {
+
+    private static final int HASH_COUNT = 4;
+
+    private final AtomicLongArray bits;
+    private final int mask;
+
+    // expectedEntries 당 약 16비트 (k=4 기준 false positive 약 0.2%)
+    BloomFilter(int expectedEntries) {
+        int bitCount = Integer.highestOneBit(Math.max(64, expectedEntries * 16 - 1)) << 1;
+        this.bits = new AtomicLongArray(bitCount >>> 6);
+        this.mask = bitCount - 1;
+    }
+
+    void add(CharSequence value) {
+        int h1 = hash(value, 0x9E3779B9);
+        int h2 = hash(value, 0x85EBCA6B) | 1;
+        for (int i = 0; i < HASH_COUNT; i++) {
+            int bit = (h1 + i * h2) & mask;
+            int index = bit >>> 6;
+            long flag = 1L << bit;
+            long current;
+            do {
+                current = bits.get(index);
+                if ((current & flag) != 0) {
+                    break;
+                }
+            } while (!bits.compareAndSet(index, current, current | flag));
+        }
+    }
+
+    boolean mightContain(CharSequence value) {
+        int h1 = hash(value, 0x9E3779B9);
+        int h2 = hash(value, 0x85EBCA6B) | 1;
+        for (int i = 0; i < HASH_COUNT; i++) {
+            int bit = (h1 + i * h2) & mask;
+            if ((bits.get(bit >>> 6) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int hash(CharSequence value, int seed) {
+        int h = seed;
+        for (int i = 0; i < value.length(); i++) {
+            h = (h ^ value.charAt(i)) * 0x01000193;
+        }
+        // murmur3 fmix32
+        h ^= h >>> 16;
+        h *= 0x85EBCA6B;
+        h ^= h >>> 13;
+        h *= 0xC2B2AE35;
+        h ^= h >>> 16;
+        return h;
+    }
+}
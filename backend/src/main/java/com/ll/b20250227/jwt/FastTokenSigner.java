@@ -0,0 +1,333 @@
+package com.ll.b20250227.jwt;
+
+import io.jsonwebtoken.SignatureAlgorithm;
+
+import javax.crypto.Mac;
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.util.Base64;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+// 고정된 모양(sub, type, [roles, prf], jti, iat, exp)의 HS256 토큰 전용 서명기
+// Jwts.builder() 의 Claims Map, Jackson 직렬화, 매번 새 Mac 생성을 건너뛰고
+// 미리 인코딩한 헤더 + 재사용 버퍼에 클레임 JSON 을 직접 써서 서명 (결과는 jjwt 파서가 그대로 검증)
+final class FastTokenSigner {
+
+    private static final char[] BASE64_URL =
+            "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_".toCharArray();
+    private static final byte[] HEX = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+
+    // subject 가 이보다 길거나 JSON 이스케이프가 필요하면 jjwt 경로 사용
+    static final int MAX_SUBJECT_LENGTH = 64;
+    private static final int MAX_TYPE_LENGTH = 16;
+    // roles + prf 클레임의 인코딩 후 최대 바이트 수, 넘으면 jjwt 경로 사용
+    static final int MAX_PROFILE_BYTES = 1536;
+
+    // 서명 상태(Mac + 버퍼) 풀: 스레드 id 로 슬롯을 골라 꺼내 쓰고 반납
+    // 가상 스레드는 요청마다 새로 생기므로 ThreadLocal 대신 작은 공유 풀을 사용
+    private static final int POOL_SLOTS = Integer.highestOneBit(Runtime.getRuntime().availableProcessors() * 4 - 1) << 1;
+
+    private final SecretKey key;
+    // base64url({"alg":"HS256","kid":"..."}) + '.'
+    private final byte[] headerSegment;
+    private final AtomicReferenceArray<State> pool = new AtomicReferenceArray<>(POOL_SLOTS);
+
+    private FastTokenSigner(JwtKeyring.SigningKey signingKey) {
+        this.key = (SecretKey) signingKey.signingKey();
+        String header = "{\"alg\":\"HS256\",\"kid\":\"" + signingKey.kid() + "\"}";
+        String encoded = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(header.getBytes(StandardCharsets.UTF_8)) + ".";
+        this.headerSegment = encoded.getBytes(StandardCharsets.US_ASCII);
+        // 풀 하나를 미리 만들어 키/알고리즘 문제를 시작 시점에 드러냄
+        release(newState());
+    }
+
+    // HS256 비밀키이고 kid 가 이스케이프 없이 쓸 수 있는 경우에만 사용, 아니면 null
+    static FastTokenSigner forKey(JwtKeyring.SigningKey signingKey) {
+        if (signingKey.algorithm() != SignatureAlgorithm.HS256
+                || !(signingKey.signingKey() instanceof SecretKey)
+                || !isPlainAscii(signingKey.kid(), 128)) {
+            return null;
+        }
+        return new FastTokenSigner(signingKey);
+    }
+
+    static boolean supports(String subject, String type) {
+        return isPlainAscii(subject, MAX_SUBJECT_LENGTH) && isPlainAscii(type, MAX_TYPE_LENGTH);
+    }
+
+    static boolean supports(String subject, String type, TokenProfile profile) {
+        return supports(subject, type) && (profile == null || profileLength(profile) <= MAX_PROFILE_BYTES);
+    }
+
+    String sign(String subject, String type, long issuedAtMillis, long expirationMillis) {
+        return sign(subject, type, null, issuedAtMillis, expirationMillis);
+    }
+
+    // iat/exp 는 jjwt 와 같이 초 단위로 내림
+    String sign(String subject, String type, TokenProfile profile, long issuedAtMillis, long expirationMillis) {
+        State state = acquire();
+        try {
+            byte[] claims = state.claims;
+            int c = 0;
+            c = writeAscii(claims, c, "{\"sub\":\"");
+            c = writeAscii(claims, c, subject);
+            c = writeAscii(claims, c, "\",\"type\":\"");
+            c = writeAscii(claims, c, type);
+            c = writeAscii(claims, c, "\",");
+            if (profile != null) {
+                c = writeProfile(claims, c, profile);
+                claims[c++] = ',';
+            }
+            c = writeAscii(claims, c, "\"jti\":\"");
+            c = writeTokenId(claims, c);
+            c = writeAscii(claims, c, "\",\"iat\":");
+            c = writeLong(claims, c, issuedAtMillis / 1000);
+            c = writeAscii(claims, c, ",\"exp\":");
+            c = writeLong(claims, c, expirationMillis / 1000);
+            claims[c++] = '}';
+
+            byte[] token = state.token;
+            int t = headerSegment.length;
+            System.arraycopy(headerSegment, 0, token, 0, t);
+            t = encodeBase64Url(claims, c, token, t);
+
+            state.mac.update(token, 0, t);
+            state.mac.doFinal(state.signature, 0);
+            token[t++] = '.';
+            t = encodeBase64Url(state.signature, state.signature.length, token, t);
+
+            return new String(token, 0, t, StandardCharsets.US_ASCII);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("토큰 서명에 실패했습니다.", e);
+        } finally {
+            release(state);
+        }
+    }
+
+    private State acquire() {
+        int slot = (int) Thread.currentThread().threadId() & (POOL_SLOTS - 1);
+        State state = pool.getAndSet(slot, null);
+        return state != null ? state : newState();
+    }
+
+    private void release(State state) {
+        int slot = (int) Thread.currentThread().threadId() & (POOL_SLOTS - 1);
+        // 슬롯이 이미 차 있으면 버림
+        pool.compareAndSet(slot, null, state);
+    }
+
+    private State newState() {
+        try {
+            Mac mac = Mac.getInstance(SignatureAlgorithm.HS256.getJcaName());
+            mac.init(key);
+            int claimsCapacity = 128 + MAX_SUBJECT_LENGTH + MAX_TYPE_LENGTH + MAX_PROFILE_BYTES;
+            int tokenCapacity = headerSegment.length + base64Length(claimsCapacity) + 1 + base64Length(mac.getMacLength());
+            return new State(mac, new byte[claimsCapacity], new byte[tokenCapacity], new byte[mac.getMacLength()]);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HS256 Mac 을 만들 수 없습니다.", e);
+        }
+    }
+
+    private static boolean isPlainAscii(String value, int maxLength) {
+        if (value == null || value.length() > maxLength) {
+            return false;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char ch = value.charAt(i);
+            if (ch < 0x20 || ch >= 0x7F || ch == '"' || ch == '\\') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // "roles":[...],"prf":{"v":..,"n":..,"e":..,"i":..} (null 항목은 생략, TokenProfile.profileClaim() 과 같은 모양)
+    private static int writeProfile(byte[] dst, int offset, TokenProfile profile) {
+        offset = writeAscii(dst, offset, "\"roles\":[");
+        for (int i = 0; i < profile.roles().size(); i++) {
+            if (i > 0) {
+                dst[offset++] = ',';
+            }
+            offset = writeJsonString(dst, offset, profile.roles().get(i));
+        }
+        offset = writeAscii(dst, offset, "],\"prf\":{\"v\":");
+        offset = writeLong(dst, offset, profile.version());
+        offset = writeField(dst, offset, ",\"n\":", profile.nickname());
+        offset = writeField(dst, offset, ",\"e\":", profile.email());
+        offset = writeField(dst, offset, ",\"i\":", profile.profileImageUrl());
+        dst[offset++] = '}';
+        return offset;
+    }
+
+    private static int writeField(byte[] dst, int offset, String name, String value) {
+        if (value == null) {
+            return offset;
+        }
+        offset = writeAscii(dst, offset, name);
+        return writeJsonString(dst, offset, value);
+    }
+
+    // writeProfile 이 쓸 바이트 수, 인코딩할 수 없는 값(짝 없는 surrogate 등)이 있으면 Integer.MAX_VALUE
+    static int profileLength(TokenProfile profile) {
+        long length = "\"roles\":[],\"prf\":{\"v\":}".length() + 20L;
+        for (String role : profile.roles()) {
+            length += jsonStringLength(role) + 1;
+        }
+        length += fieldLength(",\"n\":", profile.nickname());
+        length += fieldLength(",\"e\":", profile.email());
+        length += fieldLength(",\"i\":", profile.profileImageUrl());
+        return (int) Math.min(length, Integer.MAX_VALUE);
+    }
+
+    private static long fieldLength(String name, String value) {
+        return value == null ? 0 : name.length() + jsonStringLength(value);
+    }
+
+    // 따옴표 포함 JSON 문자열의 UTF-8 바이트 수
+    private static long jsonStringLength(String value) {
+        if (value == null) {
+            return Integer.MAX_VALUE;
+        }
+        long length = 2;
+        for (int i = 0; i < value.length(); i++) {
+            char ch = value.charAt(i);
+            if (ch == '"' || ch == '\\') {
+                length += 2;
+            } else if (ch < 0x20) {
+                length += 6;
+            } else if (ch < 0x80) {
+                length += 1;
+            } else if (ch < 0x800) {
+                length += 2;
+            } else if (Character.isHighSurrogate(ch)) {
+                if (i + 1 >= value.length() || !Character.isLowSurrogate(value.charAt(i + 1))) {
+                    return Integer.MAX_VALUE;
+                }
+                length += 4;
+                i++;
+            } else if (Character.isLowSurrogate(ch)) {
+                return Integer.MAX_VALUE;
+            } else {
+                length += 3;
+            }
+        }
+        return length;
+    }
+
+    // JSON 이스케이프 + UTF-8 인코딩 (profileLength 로 크기와 유효성을 먼저 확인한 값만 들어옴)
+    private static int writeJsonString(byte[] dst, int offset, String value) {
+        dst[offset++] = '"';
+        for (int i = 0; i < value.length(); i++) {
+            char ch = value.charAt(i);
+            if (ch == '"' || ch == '\\') {
+                dst[offset++] = '\\';
+                dst[offset++] = (byte) ch;
+            } else if (ch < 0x20) {
+                dst[offset++] = '\\';
+                dst[offset++] = 'u';
+                dst[offset++] = '0';
+                dst[offset++] = '0';
+                dst[offset++] = HEX[ch >> 4];
+                dst[offset++] = HEX[ch & 0xF];
+            } else if (ch < 0x80) {
+                dst[offset++] = (byte) ch;
+            } else if (ch < 0x800) {
+                dst[offset++] = (byte) (0xC0 | ch >> 6);
+                dst[offset++] = (byte) (0x80 | ch & 0x3F);
+            } else if (Character.isHighSurrogate(ch)) {
+                int cp = Character.toCodePoint(ch, value.charAt(++i));
+                dst[offset++] = (byte) (0xF0 | cp >> 18);
+                dst[offset++] = (byte) (0x80 | cp >> 12 & 0x3F);
+                dst[offset++] = (byte) (0x80 | cp >> 6 & 0x3F);
+                dst[offset++] = (byte) (0x80 | cp & 0x3F);
+            } else {
+                dst[offset++] = (byte) (0xE0 | ch >> 12);
+                dst[offset++] = (byte) (0x80 | ch >> 6 & 0x3F);
+                dst[offset++] = (byte) (0x80 | ch & 0x3F);
+            }
+        }
+        dst[offset++] = '"';
+        return offset;
+    }
+
+    private static int writeAscii(byte[] dst, int offset, String value) {
+        for (int i = 0; i < value.length(); i++) {
+            dst[offset++] = (byte) value.charAt(i);
+        }
+        return offset;
+    }
+
+    private static int writeLong(byte[] dst, int offset, long value) {
+        if (value == 0) {
+            dst[offset++] = '0';
+            return offset;
+        }
+        if (value < 0) {
+            dst[offset++] = '-';
+            value = -value;
+        }
+        int end = offset + digits(value);
+        for (int i = end - 1; i >= offset; i--) {
+            dst[i] = (byte) ('0' + value % 10);
+            value /= 10;
+        }
+        return end;
+    }
+
+    private static int digits(long value) {
+        int digits = 1;
+        while (value >= 10) {
+            value /= 10;
+            digits++;
+        }
+        return digits;
+    }
+
+    // UUID 문자열 형식(8-4-4-4-12)의 128비트 난수 jti
+    private static int writeTokenId(byte[] dst, int offset) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long high = random.nextLong();
+        long low = random.nextLong();
+        for (int i = 0; i < 32; i++) {
+            if (i == 8 || i == 12 || i == 16 || i == 20) {
+                dst[offset++] = '-';
+            }
+            long bits = i < 16 ? high >>> (60 - i * 4) : low >>> (60 - (i - 16) * 4);
+            dst[offset++] = HEX[(int) (bits & 0xF)];
+        }
+        return offset;
+    }
+
+    private static int encodeBase64Url(byte[] src, int length, byte[] dst, int offset) {
+        int i = 0;
+        for (; i + 3 <= length; i += 3) {
+            int bits = (src[i] & 0xFF) << 16 | (src[i + 1] & 0xFF) << 8 | (src[i + 2] & 0xFF);
+            dst[offset++] = (byte) BASE64_URL[bits >>> 18 & 0x3F];
+            dst[offset++] = (byte) BASE64_URL[bits >>> 12 & 0x3F];
+            dst[offset++] = (byte) BASE64_URL[bits >>> 6 & 0x3F];
+            dst[offset++] = (byte) BASE64_URL[bits & 0x3F];
+        }
+        int remaining = length - i;
+        if (remaining == 1) {
+            int bits = (src[i] & 0xFF) << 16;
+            dst[offset++] = (byte) BASE64_URL[bits >>> 18 & 0x3F];
+            dst[offset++] = (byte) BASE64_URL[bits >>> 12 & 0x3F];
+        } else if (remaining == 2) {
+            int bits = (src[i] & 0xFF) << 16 | (src[i + 1] & 0xFF) << 8;
+            dst[offset++] = (byte) BASE64_URL[bits >>> 18 & 0x3F];
+            dst[offset++] = (byte) BASE64_URL[bits >>> 12 & 0x3F];
+            dst[offset++] = (byte) BASE64_URL[bits >>> 6 & 0x3F];
+        }
+        return offset;
+    }
+
+    private static int base64Length(int length) {
+        return (length * 4 + 2) / 3;
+    }
+
+    private record State(Mac mac, byte[] claims, byte[] token, byte[] signature) {
+    }
+}
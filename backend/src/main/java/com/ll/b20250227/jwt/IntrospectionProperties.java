@@ -0,0 +1,25 @@
+package com.ll.b20250227.jwt;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+
+// 내부 서비스용 토큰 일괄 확인 설정 (introspection.*)
+@ConfigurationProperties(prefix = "introspection")
+public record IntrospectionProperties(
+        // X-Introspection-Key 헤더로 받는 키 (비어 있으면 모든 요청 거부)
+        List<String> apiKeys,
+        // 한 번에 확인할 수 있는 최대 토큰 수
+        @DefaultValue("100") int maxTokens,
+        // 응답 Cache-Control max-age 상한 (토큰 만료가 더 멀어도 폐기 반영을 위해 이 시간까지만)
+        @DefaultValue("30s") Duration maxCacheAge,
+        // 이 개수 이하면 요청 스레드에서 바로 확인 (작업 분배 비용이 더 큼)
+        @DefaultValue("16") int parallelThreshold
+) {
+
+    public IntrospectionProperties {
+        apiKeys = apiKeys != null ? apiKeys.stream().filter(key -> !key.isBlank()).toList() : List.of();
+    }
+}
@@ -1,49 +1,92 @@
 package com.ll.b20250227.jwt;
 
-import com.ll.b20250227.jwt.JwtProvider;
+import com.ll.b20250227.audit.AuditLog;
+import com.ll.b20250227.metrics.AuthMetrics;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
-import java.util.Collections;
 
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtProvider jwtProvider;
+    // 검증 결과 캐시 (비활성화 시 null)
+    private final VerifiedTokenCache tokenCache;
+    // 로그아웃 등으로 폐기된 토큰 목록 (없으면 null)
+    private final TokenRevocationStore revocationStore;
+    // 검증 결과별 처리 시간 (태그별 Timer 는 미리 등록되어 있음)
+    private final AuthMetrics metrics;
+    // 거부된 토큰 감사 로그 (링 버퍼에 넣기만 함)
+    private final AuditLog auditLog;
 
     public JwtAuthenticationFilter(JwtProvider jwtProvider) {
+        this(jwtProvider, null, null);
+    }
+
+    public JwtAuthenticationFilter(JwtProvider jwtProvider, VerifiedTokenCache tokenCache,
+                                   TokenRevocationStore revocationStore) {
+        this(jwtProvider, tokenCache, revocationStore, AuthMetrics.noop());
+    }
+
+    public JwtAuthenticationFilter(JwtProvider jwtProvider, VerifiedTokenCache tokenCache,
+                                   TokenRevocationStore revocationStore, AuthMetrics metrics) {
+        this(jwtProvider, tokenCache, revocationStore, metrics, AuditLog.disabled());
+    }
+
+    public JwtAuthenticationFilter(JwtProvider jwtProvider, VerifiedTokenCache tokenCache,
+                                   TokenRevocationStore revocationStore, AuthMetrics metrics, AuditLog auditLog) {
         this.jwtProvider = jwtProvider;
+        this.tokenCache = tokenCache;
+        this.revocationStore = revocationStore;
+        this.metrics = metrics;
+        this.auditLog = auditLog;
     }
 
     @Override
     protected void doFilterInternal(HttpServletRequest request,
                                     HttpServletResponse response,
                                     FilterChain filterChain) throws ServletException, IOException {
+        long start = System.nanoTime();
         String token = resolveToken(request);
-        if (token != null && jwtProvider.validateToken(token)) {
-            String subject = jwtProvider.getSubject(token);
-            // 여기서는 예시로 단순 UserDetails를 생성합니다.
-            // 실제 운영환경에서는 UserDetailsService를 통해 사용자 정보를 로드하세요.
-            UserDetails userDetails = new User(subject, "", Collections.emptyList());
+        // 서명 검증과 클레임 디코딩은 요청당 한 번만 수행 (캐시 적중 시 생략)
+        TokenParseResult result = token != null ? parse(token) : null;
+        if (result == null) {
+            metrics.recordFilterWithoutToken(System.nanoTime() - start);
+        } else if (!result.isValid()) {
+            auditLog.tokenRejected(result.failure(), request.getRemoteAddr());
+            metrics.recordFilter(result.failure(), System.nanoTime() - start);
+        } else {
+            // 여기서는 예시로 토큰만으로 UserDetails를 생성합니다.
+            // 토큰에 프로필/권한 클레임이 있으면 함께 담기고, 없으면 권한 없는 사용자로 처리
+            UserDetails userDetails = new TokenUserDetails(result.token());
             UsernamePasswordAuthenticationToken auth =
                     new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
             auth.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
 
             SecurityContextHolder.getContext().setAuthentication(auth);
             //스프링시큐리티에 인증정보 저장
+            metrics.recordFilter(null, System.nanoTime() - start);
         }
         filterChain.doFilter(request, response);
     }
 
+    private TokenParseResult parse(String token) {
+        TokenParseResult result = tokenCache != null ? tokenCache.parse(token) : jwtProvider.parse(token);
+        // 캐시 적중이어도 폐기 여부는 매번 확인
+        if (result.isValid() && revocationStore != null && revocationStore.isRevoked(result.token().id())) {
+            return TokenParseResult.failure(TokenFailure.REVOKED);
+        }
+        return result;
+    }
+
     // Authorization 헤더에서 토큰 추출 ("Bearer " 접두사 제거)
     private String resolveToken(HttpServletRequest request) {
         String bearerToken = request.getHeader("Authorization");
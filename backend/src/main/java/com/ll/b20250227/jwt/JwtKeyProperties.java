@@ -0,0 +1,26 @@
+package com.ll.b20250227.jwt;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.core.io.Resource;
+
+import java.util.List;
+
+// 서명 키 설정 (jwt.keys.*)
+// entries 와 keystore 에 있는 모든 키로 검증하고, active-kid 키로만 서명
+@ConfigurationProperties(prefix = "jwt.keys")
+public record JwtKeyProperties(
+        String activeKid,
+        // PKCS12 키스토어 (alias 가 kid, 비밀키는 HS256, EC 개인키는 ES256)
+        Resource keystore,
+        String keystorePassword,
+        List<Entry> entries
+) {
+
+    public JwtKeyProperties {
+        entries = entries != null ? entries : List.of();
+    }
+
+    // algorithm: HS256 이면 secret(Base64), ES256 이면 private-key(PKCS#8) 와 public-key(X.509) PEM 또는 Base64
+    public record Entry(String kid, String algorithm, String secret, String privateKey, String publicKey) {
+    }
+}
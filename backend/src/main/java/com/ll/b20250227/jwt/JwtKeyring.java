@@ -0,0 +1,199 @@
+package com.ll.b20250227.jwt;
+
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.SecretKey;
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.KeyFactory;
+import java.security.AlgorithmParameters;
+import java.security.KeyStore;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.interfaces.ECPublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.security.spec.ECParameterSpec;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+// 서명/검증 키 모음: kid -> 미리 만들어 둔 키로 O(1) 조회
+// 키 교체 중에는 이전 키도 목록에 남겨 두면 기존 토큰이 계속 검증됨
+@Component
+public class JwtKeyring {
+
+    private static final Logger log = LoggerFactory.getLogger(JwtKeyring.class);
+
+    // ES256 는 P-256(secp256r1) 곡선만 (JWKS 도 crv=P-256, 32바이트 좌표로 공개)
+    private static final ECParameterSpec P256 = p256();
+
+    private final Map<String, SigningKey> keys;
+    private final SigningKey active;
+
+    @Autowired
+    public JwtKeyring(JwtKeyProperties properties) {
+        Map<String, SigningKey> loaded = new LinkedHashMap<>();
+        if (properties.keystore() != null) {
+            loadKeystore(properties.keystore(), properties.keystorePassword(), loaded);
+        }
+        for (JwtKeyProperties.Entry entry : properties.entries()) {
+            put(loaded, fromEntry(entry));
+        }
+
+        if (loaded.isEmpty()) {
+            // 키 설정이 없으면 기존처럼 임시 키 생성 (재시작하면 모든 토큰이 무효가 됨)
+            log.warn("jwt.keys 가 설정되지 않아 임시 HS256 키를 생성합니다. 재시작 시 발급된 토큰은 모두 무효가 됩니다.");
+            SigningKey generated = generatedKey();
+            loaded.put(generated.kid(), generated);
+        }
+
+        this.keys = Collections.unmodifiableMap(loaded);
+        String activeKid = properties.activeKid();
+        if (activeKid == null || activeKid.isBlank()) {
+            // active-kid 가 없으면 마지막에 등록된 키로 서명
+            this.active = List.copyOf(loaded.values()).get(loaded.size() - 1);
+        } else {
+            this.active = loaded.get(activeKid);
+            if (this.active == null) {
+                throw new IllegalStateException("jwt.keys.active-kid 에 해당하는 키가 없습니다: " + activeKid);
+            }
+        }
+        if (this.active.signingKey() == null) {
+            throw new IllegalStateException("서명용 키에 개인키가 없습니다: " + this.active.kid());
+        }
+    }
+
+    private JwtKeyring(SigningKey key) {
+        this.keys = Map.of(key.kid(), key);
+        this.active = key;
+    }
+
+    // 설정 없이 임시 HS256 키 하나로 만든 키링 (벤치마크/테스트용)
+    public static JwtKeyring generated() {
+        return new JwtKeyring(generatedKey());
+    }
+
+    public SigningKey active() {
+        return active;
+    }
+
+    // 토큰 헤더의 kid 로 검증 키 조회, 없으면 null
+    public SigningKey find(String kid) {
+        return kid != null ? keys.get(kid) : null;
+    }
+
+    public List<SigningKey> all() {
+        return List.copyOf(keys.values());
+    }
+
+    private static SigningKey generatedKey() {
+        SecretKey secretKey = Keys.secretKeyFor(SignatureAlgorithm.HS256);
+        return new SigningKey(UUID.randomUUID().toString(), SignatureAlgorithm.HS256, secretKey, secretKey);
+    }
+
+    private static void put(Map<String, SigningKey> keys, SigningKey key) {
+        if (keys.putIfAbsent(key.kid(), key) != null) {
+            throw new IllegalStateException("중복된 kid 입니다: " + key.kid());
+        }
+    }
+
+    private static SigningKey fromEntry(JwtKeyProperties.Entry entry) {
+        if (entry.kid() == null || entry.kid().isBlank()) {
+            throw new IllegalStateException("jwt.keys.entries 에 kid 가 없습니다.");
+        }
+        SignatureAlgorithm algorithm = SignatureAlgorithm.forName(
+                entry.algorithm() != null ? entry.algorithm() : SignatureAlgorithm.HS256.getValue());
+        try {
+            switch (algorithm) {
+                case HS256 -> {
+                    SecretKey secretKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(entry.secret()));
+                    return new SigningKey(entry.kid(), algorithm, secretKey, secretKey);
+                }
+                case ES256 -> {
+                    KeyFactory keyFactory = KeyFactory.getInstance("EC");
+                    PrivateKey privateKey = entry.privateKey() != null
+                            ? keyFactory.generatePrivate(new PKCS8EncodedKeySpec(decodePem(entry.privateKey())))
+                            : null;
+                    PublicKey publicKey = requireP256(entry.kid(),
+                            keyFactory.generatePublic(new X509EncodedKeySpec(decodePem(entry.publicKey()))));
+                    return new SigningKey(entry.kid(), algorithm, privateKey, publicKey);
+                }
+                default -> throw new IllegalStateException("지원하지 않는 알고리즘입니다: " + algorithm);
+            }
+        } catch (GeneralSecurityException | RuntimeException e) {
+            throw new IllegalStateException("kid=" + entry.kid() + " 키를 읽을 수 없습니다.", e);
+        }
+    }
+
+    private static void loadKeystore(Resource resource, String password, Map<String, SigningKey> keys) {
+        char[] pass = password != null ? password.toCharArray() : new char[0];
+        try (InputStream in = resource.getInputStream()) {
+            KeyStore keyStore = KeyStore.getInstance("PKCS12");
+            keyStore.load(in, pass);
+            for (String alias : Collections.list(keyStore.aliases())) {
+                Key key = keyStore.getKey(alias, pass);
+                if (key instanceof SecretKey secretKey) {
+                    put(keys, new SigningKey(alias, SignatureAlgorithm.HS256, secretKey, secretKey));
+                } else if (key instanceof PrivateKey privateKey
+                        && keyStore.getCertificate(alias).getPublicKey() instanceof ECPublicKey publicKey) {
+                    put(keys, new SigningKey(alias, SignatureAlgorithm.ES256, privateKey, requireP256(alias, publicKey)));
+                } else {
+                    log.warn("키스토어 alias={} 는 지원하지 않는 키 형식이라 건너뜁니다.", alias);
+                }
+            }
+        } catch (IOException | GeneralSecurityException e) {
+            throw new IllegalStateException("JWT 키스토어를 읽을 수 없습니다: " + resource, e);
+        }
+    }
+
+    // 다른 곡선(P-384 등)의 EC 키는 ES256 서명/JWKS 와 맞지 않으므로 시작 시 거부
+    private static PublicKey requireP256(String kid, PublicKey publicKey) {
+        if (!(publicKey instanceof ECPublicKey ecPublicKey) || !isP256(ecPublicKey.getParams())) {
+            throw new IllegalStateException("kid=" + kid + " 키는 P-256(secp256r1) EC 키여야 합니다.");
+        }
+        return publicKey;
+    }
+
+    private static boolean isP256(ECParameterSpec params) {
+        return params.getCurve().equals(P256.getCurve())
+                && params.getGenerator().equals(P256.getGenerator())
+                && params.getOrder().equals(P256.getOrder())
+                && params.getCofactor() == P256.getCofactor();
+    }
+
+    private static ECParameterSpec p256() {
+        try {
+            AlgorithmParameters parameters = AlgorithmParameters.getInstance("EC");
+            parameters.init(new ECGenParameterSpec("secp256r1"));
+            return parameters.getParameterSpec(ECParameterSpec.class);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static byte[] decodePem(String pem) {
+        String base64 = pem.replaceAll("-----(BEGIN|END) [A-Z ]+-----", "").replaceAll("\\s", "");
+        return Decoders.BASE64.decode(base64);
+    }
+
+    // signingKey 는 검증 전용 키(다른 노드의 공개키 등)면 null
+    public record SigningKey(String kid, SignatureAlgorithm algorithm, Key signingKey, Key verificationKey) {
+
+        public boolean isAsymmetric() {
+            return verificationKey instanceof PublicKey;
+        }
+    }
+}
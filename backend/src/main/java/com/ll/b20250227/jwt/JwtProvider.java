@@ -1,73 +1,174 @@
 package com.ll.b20250227.jwt;
 
+import com.ll.b20250227.metrics.AuthMetrics;
 import io.jsonwebtoken.*;
-import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SecurityException;
+import io.jsonwebtoken.security.SignatureException;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 import java.security.Key;
+import java.time.Duration;
 import java.util.Date;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 @Component
 public class JwtProvider {
 
-    // 비밀키: 운영환경에서는 외부 설정으로 관리하세요.
-    private final Key key = Keys.secretKeyFor(SignatureAlgorithm.HS256);
+    public static final String ACCESS_TYPE = "access";
+    public static final String REFRESH_TYPE = "refresh";
+
+    // 서명/검증 키: jwt.keys 설정 또는 키스토어에서 로드 (JwtKeyring 참고)
+    private final JwtKeyring keyring;
+
+    // JwtParser 는 불변이고 thread-safe 하므로 시작 시 한 번만 만들어 재사용
+    // 검증 키는 헤더의 kid 로 키링에서 바로 조회
+    private final JwtParser parser;
+
+    private final AuthMetrics metrics;
+
+    // 활성 키가 HS256 이면 고정 모양 토큰을 빠르게 서명 (아니면 null, jjwt 빌더 사용)
+    private final FastTokenSigner fastSigner;
 
     // 토큰 유효시간 (예: 1시간)
     private final long validityInMilliseconds = 5000; // 10분
     private final long refreshTokenValidity = 7 * 24 * 60 * 60 * 1000L; // 7일
 
+    // 메트릭 없이 사용 (벤치마크 등)
+    public JwtProvider(JwtKeyring keyring) {
+        this(keyring, AuthMetrics.noop());
+    }
+
+    @Autowired
+    public JwtProvider(JwtKeyring keyring, AuthMetrics metrics) {
+        this.keyring = keyring;
+        this.metrics = metrics;
+        this.fastSigner = FastTokenSigner.forKey(keyring.active());
+        this.parser = Jwts.parserBuilder()
+                .setSigningKeyResolver(new SigningKeyResolverAdapter() {
+                    @Override
+                    public Key resolveSigningKey(JwsHeader header, Claims claims) {
+                        return verificationKey(header);
+                    }
+                })
+                .build();
+    }
+
     // 토큰 생성: 주로 사용자 식별값(username 혹은 userId)을 subject로 설정
     public String createAccessToken(String subject) {
-        Claims claims = Jwts.claims().setSubject(subject);
-        claims.put("type", "access");
-        // 추가 클레임 설정 가능
-
-        Date now = new Date();
-        Date validity = new Date(now.getTime() + validityInMilliseconds);
+        return createAccessToken(subject, null);
+    }
 
-        return Jwts.builder()
-                .setClaims(claims)
-                .setIssuedAt(now)
-                .setExpiration(validity)
-                .signWith(key)
-                .compact();
+    // profile 이 있으면 프로필/권한 클레임을 함께 실음 (/api/user 를 DB 없이 응답하기 위함)
+    public String createAccessToken(String subject, TokenProfile profile) {
+        long start = System.nanoTime();
+        String token = createToken(subject, ACCESS_TYPE, profile, validityInMilliseconds);
+        metrics.issueAccess().record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return token;
     }
 
     public String createRefreshToken(String subject) {
+        long start = System.nanoTime();
+        String token = createToken(subject, REFRESH_TYPE, null, refreshTokenValidity);
+        metrics.issueRefresh().record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return token;
+    }
+
+    public Duration accessTokenValidity() {
+        return Duration.ofMillis(validityInMilliseconds);
+    }
+
+    // 벤치마크에서 만료된 토큰을 만들 수 있도록 package-private 으로 둠
+    String createToken(String subject, String type, long validity) {
+        return createToken(subject, type, null, validity);
+    }
+
+    String createToken(String subject, String type, TokenProfile profile, long validity) {
+        if (fastSigner != null && FastTokenSigner.supports(subject, type, profile)) {
+            long now = System.currentTimeMillis();
+            return fastSigner.sign(subject, type, profile, now, now + validity);
+        }
+        return createTokenWithBuilder(subject, type, profile, validity);
+    }
+
+    String createTokenWithBuilder(String subject, String type, long validity) {
+        return createTokenWithBuilder(subject, type, null, validity);
+    }
+
+    // jjwt 빌더 경로: 비대칭 키이거나 subject/프로필이 fast path 제한을 넘을 때 사용
+    String createTokenWithBuilder(String subject, String type, TokenProfile profile, long validity) {
         Claims claims = Jwts.claims().setSubject(subject);
-        claims.put("type", "refresh");
+        claims.put("type", type);
+        // 추가 클레임 설정 가능
+        if (profile != null) {
+            claims.put(TokenProfile.ROLES_CLAIM, profile.roles());
+            claims.put(TokenProfile.PROFILE_CLAIM, profile.profileClaim());
+        }
 
         Date now = new Date();
-        Date validity = new Date(now.getTime() + refreshTokenValidity);
+        Date expiration = new Date(now.getTime() + validity);
 
+        JwtKeyring.SigningKey signingKey = keyring.active();
         return Jwts.builder()
+                .setHeaderParam(JwsHeader.KEY_ID, signingKey.kid())
                 .setClaims(claims)
+                // jti: 로그아웃/재발급 시 개별 토큰 폐기에 사용
+                .setId(UUID.randomUUID().toString())
                 .setIssuedAt(now)
-                .setExpiration(validity)
-                .signWith(key)
+                .setExpiration(expiration)
+                .signWith(signingKey.signingKey(), signingKey.algorithm())
                 .compact();
     }
 
-    // 토큰 검증
-    public boolean validateToken(String token) {
+    private Key verificationKey(JwsHeader<?> header) {
+        JwtKeyring.SigningKey signingKey = keyring.find(header.getKeyId());
+        // 모르는 kid 이거나 헤더의 alg 가 키와 다르면 서명 오류로 처리
+        if (signingKey == null || !signingKey.algorithm().getValue().equals(header.getAlgorithm())) {
+            throw new SignatureException("Unknown signing key: " + header.getKeyId());
+        }
+        return signingKey.verificationKey();
+    }
+
+    // 토큰을 한 번만 검증/디코딩하고 결과(성공 시 ParsedToken, 실패 시 사유)를 반환
+    public TokenParseResult parse(String token) {
+        if (token == null || token.isBlank()) {
+            return TokenParseResult.failure(TokenFailure.EMPTY);
+        }
         try {
-            Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token);
-            return true;
+            Claims body = parser.parseClaimsJws(token).getBody();
+            Date issuedAt = body.getIssuedAt();
+            Date expiration = body.getExpiration();
+            return TokenParseResult.success(new ParsedToken(
+                    body.getId(),
+                    body.getSubject(),
+                    body.get("type", String.class),
+                    issuedAt != null ? issuedAt.toInstant() : null,
+                    expiration != null ? expiration.toInstant() : null,
+                    TokenProfile.fromClaims(body.get(TokenProfile.PROFILE_CLAIM), body.get(TokenProfile.ROLES_CLAIM))
+            ));
+        } catch (ExpiredJwtException e) {
+            return TokenParseResult.failure(TokenFailure.EXPIRED);
+        } catch (SecurityException e) {
+            return TokenParseResult.failure(TokenFailure.BAD_SIGNATURE);
+        } catch (UnsupportedJwtException e) {
+            return TokenParseResult.failure(TokenFailure.UNSUPPORTED);
         } catch (JwtException | IllegalArgumentException e) {
-            // 토큰이 유효하지 않음
-            return false;
+            return TokenParseResult.failure(TokenFailure.MALFORMED);
         }
     }
 
+    // 토큰 검증
+    public boolean validateToken(String token) {
+        return parse(token).isValid();
+    }
+
     // 토큰에서 subject(예, username 또는 userId) 추출
     public String getSubject(String token) {
-        return Jwts.parserBuilder().setSigningKey(key).build()
-                .parseClaimsJws(token).getBody().getSubject();
+        return parser.parseClaimsJws(token).getBody().getSubject();
     }
 
     public String getTokenType(String token) {
-        return (String) Jwts.parserBuilder().setSigningKey(key).build().
-                parseClaimsJws(token).getBody().getSubject();
+        return parser.parseClaimsJws(token).getBody().get("type", String.class);
     }
 }
@@ -0,0 +1,17 @@
+package com.ll.b20250227.jwt;
+
+import java.time.Instant;
+
+// 서명 검증과 디코딩이 끝난 토큰의 불변 표현
+// profile 은 프로필 클레임을 실은 access token 에만 있음 (없으면 null)
+public record ParsedToken(String id, String subject, String type, Instant issuedAt, Instant expiration,
+                          TokenProfile profile) {
+
+    public boolean isAccessToken() {
+        return JwtProvider.ACCESS_TYPE.equals(type);
+    }
+
+    public boolean isRefreshToken() {
+        return JwtProvider.REFRESH_TYPE.equals(type);
+    }
+}
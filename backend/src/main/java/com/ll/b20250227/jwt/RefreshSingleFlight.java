@@ -0,0 +1,90 @@
+package com.ll.b20250227.jwt;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+// 같은 Refresh Token 으로 동시에 들어온 재발급 요청을 하나로 합침
+// 첫 요청만 토큰 쌍을 발급하고, grace window 안에 들어온 요청은 같은 access token 만 받음
+// (여러 탭이 동시에 만료되는 경우 401 대신 응답, 새 refresh token 은 첫 요청에만 주므로 탈취한 이전 토큰으로 회전된 토큰을 얻을 수 없음)
+// grace window 가 지난 재사용은 폐기된 토큰이라 거부됨
+@Component
+public class RefreshSingleFlight {
+
+    // refresh token jti -> 발급 결과 (발급 중이면 아직 완료되지 않은 future)
+    private final Cache<String, CompletableFuture<IssuedTokens>> results;
+    private final LongAdder sharedCount = new LongAdder();
+
+    public RefreshSingleFlight(@Value("${jwt.refresh.grace-window:2s}") Duration graceWindow) {
+        this.results = Caffeine.newBuilder()
+                .expireAfterWrite(graceWindow)
+                .build();
+    }
+
+    // issuer 는 jti 마다 grace window 안에서 한 번만 호출됨, null(폐기된 토큰)은 기억하지 않음
+    // 함께 기다린 요청은 refresh token 없이 access token 만 받음
+    public IssuedTokens execute(String refreshTokenId, Supplier<IssuedTokens> issuer) {
+        if (refreshTokenId == null) {
+            return issuer.get();
+        }
+        CompletableFuture<IssuedTokens> created = new CompletableFuture<>();
+        CompletableFuture<IssuedTokens> existing = results.asMap().putIfAbsent(refreshTokenId, created);
+        if (existing != null) {
+            IssuedTokens shared = existing.join();
+            if (shared == null) {
+                return null;
+            }
+            sharedCount.increment();
+            return shared.withoutRefreshToken();
+        }
+        try {
+            IssuedTokens issued = issuer.get();
+            created.complete(issued);
+            if (issued == null) {
+                results.asMap().remove(refreshTokenId, created);
+            }
+            return issued;
+        } catch (RuntimeException e) {
+            results.asMap().remove(refreshTokenId, created);
+            created.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    // 로그아웃으로 폐기된 토큰이면 남은 grace window 동안에도 결과를 내주지 않음
+    public void forget(String refreshTokenId) {
+        if (refreshTokenId != null) {
+            results.invalidate(refreshTokenId);
+        }
+    }
+
+    public long sharedCount() {
+        return sharedCount.sum();
+    }
+
+    // refreshToken 은 grace window 안에서 결과를 함께 받은 요청이면 null
+    public record IssuedTokens(String accessToken, String refreshToken, Instant accessTokenExpiresAt) {
+
+        IssuedTokens withoutRefreshToken() {
+            return new IssuedTokens(accessToken, null, accessTokenExpiresAt);
+        }
+
+        // 클라이언트가 만료 전에 재발급할 수 있도록 남은 시간(초)을 알려줌
+        // 버림이면 발급 직후에도 5초 토큰이 4 로 보이므로 올림 (발급 직후에는 설정한 유효시간과 같음)
+        public long expiresIn() {
+            return expiresIn(Instant.now());
+        }
+
+        long expiresIn(Instant now) {
+            long remainingMillis = Duration.between(now, accessTokenExpiresAt).toMillis();
+            return Math.max(0, (remainingMillis + 999) / 1000);
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.ll.b20250227.jwt;
+
+// 토큰 검증 실패 사유
+public enum TokenFailure {
+    EMPTY,
+    EXPIRED,
+    BAD_SIGNATURE,
+    MALFORMED,
+    UNSUPPORTED,
+    REVOKED
+}
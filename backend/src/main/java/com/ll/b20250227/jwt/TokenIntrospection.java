@@ -0,0 +1,16 @@
+package com.ll.b20250227.jwt;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+// 토큰 하나의 확인 결과 (비활성 토큰은 active=false 만, 사유는 알려주지 않음)
+// exp 는 epoch 초
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record TokenIntrospection(boolean active, String subject, String type, Long exp) {
+
+    public static final TokenIntrospection INACTIVE = new TokenIntrospection(false, null, null, null);
+
+    static TokenIntrospection active(ParsedToken token) {
+        return new TokenIntrospection(true, token.subject(), token.type(),
+                token.expiration() != null ? token.expiration().getEpochSecond() : null);
+    }
+}
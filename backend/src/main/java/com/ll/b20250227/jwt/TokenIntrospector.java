@@ -0,0 +1,147 @@
+package com.ll.b20250227.jwt;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.Future;
+
+// 내부 서비스(게이트웨이 등)가 받은 토큰 여러 개를 한 번에 확인
+// 서명 검증은 CPU 작업이라 코어 수만큼의 전용 ForkJoinPool 에 나눠서 병렬로 처리하고, 요청 스레드도 한 묶음을 맡음
+// DB 조회 없이 JwtProvider(검증 캐시가 있으면 캐시)와 폐기 목록만 사용
+@Component
+public class TokenIntrospector {
+
+    private final JwtProvider jwtProvider;
+    // 검증 결과 캐시 (jwt.cache.enabled=false 면 null)
+    private final VerifiedTokenCache tokenCache;
+    private final TokenRevocationStore revocationStore;
+    private final int parallelThreshold;
+    private final Duration maxCacheAge;
+    private final ForkJoinPool pool;
+
+    @Autowired
+    public TokenIntrospector(JwtProvider jwtProvider, ObjectProvider<VerifiedTokenCache> tokenCache,
+                             TokenRevocationStore revocationStore, IntrospectionProperties properties) {
+        this(jwtProvider, tokenCache.getIfAvailable(), revocationStore, properties);
+    }
+
+    public TokenIntrospector(JwtProvider jwtProvider, VerifiedTokenCache tokenCache,
+                             TokenRevocationStore revocationStore, IntrospectionProperties properties) {
+        this(jwtProvider, tokenCache, revocationStore, properties, Runtime.getRuntime().availableProcessors());
+    }
+
+    TokenIntrospector(JwtProvider jwtProvider, VerifiedTokenCache tokenCache,
+                      TokenRevocationStore revocationStore, IntrospectionProperties properties, int parallelism) {
+        this.jwtProvider = jwtProvider;
+        this.tokenCache = tokenCache;
+        this.revocationStore = revocationStore;
+        this.parallelThreshold = Math.max(1, properties.parallelThreshold());
+        this.maxCacheAge = properties.maxCacheAge();
+        this.pool = new ForkJoinPool(parallelism, pool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("token-introspect-" + thread.getPoolIndex());
+            return thread;
+        }, null, false);
+    }
+
+    // 요청 순서대로 결과 반환, 같은 토큰은 한 번만 검증
+    public List<TokenIntrospection> introspect(List<String> tokens) {
+        Map<String, Integer> positions = new HashMap<>(tokens.size() * 2);
+        List<String> unique = new ArrayList<>(tokens.size());
+        int[] index = new int[tokens.size()];
+        for (int i = 0; i < tokens.size(); i++) {
+            Integer position = positions.putIfAbsent(tokens.get(i), unique.size());
+            if (position == null) {
+                position = unique.size();
+                unique.add(tokens.get(i));
+            }
+            index[i] = position;
+        }
+
+        TokenIntrospection[] results = new TokenIntrospection[unique.size()];
+        int chunks = Math.min(pool.getParallelism(), (unique.size() + parallelThreshold - 1) / parallelThreshold);
+        if (chunks <= 1) {
+            introspectRange(unique, results, 0, unique.size());
+        } else {
+            introspectInParallel(unique, results, chunks);
+        }
+
+        TokenIntrospection[] ordered = new TokenIntrospection[tokens.size()];
+        for (int i = 0; i < ordered.length; i++) {
+            ordered[i] = results[index[i]];
+        }
+        return Arrays.asList(ordered);
+    }
+
+    // 결과를 캐시해도 되는 시간: 활성 토큰 중 가장 먼저 만료되는 시각까지, maxCacheAge 를 넘지 않음
+    // 비활성 결과는 다시 활성이 되지 않으므로 상한까지 캐시 가능
+    public Duration cacheMaxAge(List<TokenIntrospection> results, Instant now) {
+        Duration maxAge = maxCacheAge;
+        for (TokenIntrospection result : results) {
+            if (result.active() && result.exp() != null) {
+                Duration remaining = Duration.ofSeconds(Math.max(0, result.exp() - now.getEpochSecond()));
+                if (remaining.compareTo(maxAge) < 0) {
+                    maxAge = remaining;
+                }
+            }
+        }
+        return maxAge;
+    }
+
+    private void introspectInParallel(List<String> tokens, TokenIntrospection[] results, int chunks) {
+        int size = tokens.size();
+        List<Future<?>> futures = new ArrayList<>(chunks - 1);
+        // 첫 묶음은 요청 스레드가 처리
+        for (int chunk = 1; chunk < chunks; chunk++) {
+            int from = (int) ((long) size * chunk / chunks);
+            int to = (int) ((long) size * (chunk + 1) / chunks);
+            futures.add(pool.submit(() -> introspectRange(tokens, results, from, to)));
+        }
+        introspectRange(tokens, results, 0, (int) ((long) size / chunks));
+        try {
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("토큰 확인이 중단되었습니다.", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("토큰 확인 중 오류가 발생했습니다.", e.getCause());
+        }
+    }
+
+    // 각 작업은 서로 다른 구간에만 쓰고, Future.get 이 완료를 보장하므로 배열을 그대로 공유
+    private void introspectRange(List<String> tokens, TokenIntrospection[] results, int from, int to) {
+        for (int i = from; i < to; i++) {
+            results[i] = introspect(tokens.get(i));
+        }
+    }
+
+    private TokenIntrospection introspect(String token) {
+        if (token == null || token.isBlank()) {
+            return TokenIntrospection.INACTIVE;
+        }
+        TokenParseResult result = tokenCache != null ? tokenCache.parse(token) : jwtProvider.parse(token);
+        if (!result.isValid() || revocationStore.isRevoked(result.token().id())) {
+            return TokenIntrospection.INACTIVE;
+        }
+        return TokenIntrospection.active(result.token());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdown();
+    }
+}
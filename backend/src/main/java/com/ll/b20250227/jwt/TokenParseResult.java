@@ -0,0 +1,26 @@
+package com.ll.b20250227.jwt;
+
+// 토큰 한 번 파싱한 결과: 성공이면 token, 실패면 failure 가 채워짐
+public record TokenParseResult(ParsedToken token, TokenFailure failure) {
+
+    // 실패 결과는 사유별로 하나씩만 만들어 재사용
+    private static final TokenParseResult[] FAILURES = new TokenParseResult[TokenFailure.values().length];
+
+    static {
+        for (TokenFailure failure : TokenFailure.values()) {
+            FAILURES[failure.ordinal()] = new TokenParseResult(null, failure);
+        }
+    }
+
+    public static TokenParseResult success(ParsedToken token) {
+        return new TokenParseResult(token, null);
+    }
+
+    public static TokenParseResult failure(TokenFailure failure) {
+        return FAILURES[failure.ordinal()];
+    }
+
+    public boolean isValid() {
+        return token != null;
+    }
+}
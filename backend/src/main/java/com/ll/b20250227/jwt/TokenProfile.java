@@ -0,0 +1,56 @@
+package com.ll.b20250227.jwt;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// access token 에 싣는 사용자 프로필 (jwt.profile-claims.enabled)
+// 토큰 클레임: "roles":[...], "prf":{"v":버전,"n":닉네임,"e":이메일,"i":프로필 이미지}
+// "e" 는 jwt.profile-claims.include-email 일 때만 실림 (토큰이 로그인 리다이렉트 URL 에 노출되므로)
+// version 은 프로필이 바뀔 때마다 증가하며, 서버가 아는 최신 버전보다 낮으면 토큰 프로필을 쓰지 않음
+public record TokenProfile(long version, String nickname, String email, String profileImageUrl, List<String> roles) {
+
+    public static final String ROLES_CLAIM = "roles";
+    public static final String PROFILE_CLAIM = "prf";
+
+    // CustomOAuth2UserService 가 부여하는 기본 권한
+    public static final List<String> DEFAULT_ROLES = List.of("ROLE_USER");
+
+    public TokenProfile {
+        roles = roles != null ? List.copyOf(roles) : DEFAULT_ROLES;
+    }
+
+    // 토큰 클레임 -> TokenProfile, prf 클레임이 없으면 null
+    static TokenProfile fromClaims(Object profileClaim, Object rolesClaim) {
+        if (!(profileClaim instanceof Map<?, ?> profile)) {
+            return null;
+        }
+        Object version = profile.get("v");
+        List<String> roles = rolesClaim instanceof List<?> list
+                ? list.stream().map(String::valueOf).toList()
+                : DEFAULT_ROLES;
+        return new TokenProfile(
+                version instanceof Number number ? number.longValue() : 0,
+                (String) profile.get("n"),
+                (String) profile.get("e"),
+                (String) profile.get("i"),
+                roles
+        );
+    }
+
+    // jjwt 빌더 경로용 클레임 값 (null 항목은 생략)
+    Map<String, Object> profileClaim() {
+        Map<String, Object> claim = new LinkedHashMap<>();
+        claim.put("v", version);
+        if (nickname != null) {
+            claim.put("n", nickname);
+        }
+        if (email != null) {
+            claim.put("e", email);
+        }
+        if (profileImageUrl != null) {
+            claim.put("i", profileImageUrl);
+        }
+        return claim;
+    }
+}
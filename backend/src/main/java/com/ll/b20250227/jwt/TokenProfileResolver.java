@@ -0,0 +1,76 @@
+package com.ll.b20250227.jwt;
+
+import com.ll.b20250227.entity.User;
+import com.ll.b20250227.repository.UserRepository;
+import com.ll.b20250227.repository.UserWriteBehind;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+// access token 에 실을 프로필을 만들고, 토큰에 실린 프로필이 아직 최신인지 판단
+// 최신 여부는 메모리에 있는 값(write-behind 대기/최근 반영)과 profileVersion 만 비교하므로 DB 를 읽지 않음
+@Component
+public class TokenProfileResolver {
+
+    private final UserRepository userRepository;
+    private final UserWriteBehind userWriteBehind;
+    private final boolean enabled;
+    // 로그인 성공 시 access token 이 리다이렉트 URL 에 실리므로 이메일은 명시적으로 켠 경우에만 실음
+    private final boolean includeEmail;
+
+    public TokenProfileResolver(UserRepository userRepository, UserWriteBehind userWriteBehind,
+                                @Value("${jwt.profile-claims.enabled:false}") boolean enabled,
+                                @Value("${jwt.profile-claims.include-email:false}") boolean includeEmail) {
+        this.userRepository = userRepository;
+        this.userWriteBehind = userWriteBehind;
+        this.enabled = enabled;
+        this.includeEmail = includeEmail;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // 토큰 발급 시 사용 (비활성화 상태거나 사용자가 없으면 null -> 프로필 없는 토큰)
+    public TokenProfile resolve(Long userId) {
+        if (!enabled) {
+            return null;
+        }
+        User user = userWriteBehind.findCurrent(userId);
+        if (user == null) {
+            user = userRepository.findById(userId).orElse(null);
+            if (user == null) {
+                return null;
+            }
+            userWriteBehind.remember(user);
+        }
+        return new TokenProfile(
+                user.getProfileVersion() != null ? user.getProfileVersion() : 0,
+                user.getNickname(),
+                includeEmail ? user.getEmail() : null,
+                user.getProfileImageUrl(),
+                TokenProfile.DEFAULT_ROLES
+        );
+    }
+
+    // 발급 이후 프로필이 바뀐 것을 알고 있으면 false (호출 측에서 DB/캐시 경로 사용)
+    // 메모리에 상태가 없으면 토큰 값을 그대로 신뢰 (access token 유효시간 안의 지연만 허용)
+    public boolean isCurrent(Long userId, TokenProfile profile) {
+        if (!enabled || profile == null) {
+            return false;
+        }
+        User known = userWriteBehind.findCurrent(userId);
+        return known == null || known.getProfileVersion() == null || known.getProfileVersion() <= profile.version();
+    }
+
+    // /api/user 응답의 이메일: 토큰에 싣지 않는 설정이면 이메일만 메모리(최근 로그인 값) 또는 DB 에서 조회
+    public String email(Long userId, TokenProfile profile) {
+        if (includeEmail) {
+            return profile.email();
+        }
+        User known = userWriteBehind.findCurrent(userId);
+        if (known != null) {
+            return known.getEmail();
+        }
+        return userRepository.findEmailById(userId).orElse(null);
+    }
+}
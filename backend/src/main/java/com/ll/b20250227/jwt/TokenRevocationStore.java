@@ -0,0 +1,103 @@
+package com.ll.b20250227.jwt;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// 폐기된 토큰(jti) 목록: 메모리에서만 관리하고 DB 조회 없이 O(1) 로 확인
+// 블룸 필터에 없으면 바로 통과, 있을 때만 동시성 맵을 조회
+@Component
+public class TokenRevocationStore {
+
+    private final int expectedEntries;
+
+    // jti -> 토큰 만료 시각, 토큰의 exp 가 지나면 자동 제거 (크기 제한으로 지워지면 안 되므로 maximumSize 없음)
+    private final Cache<String, Instant> revoked;
+
+    private volatile BloomFilter bloomFilter;
+    // 현재 블룸 필터에 추가된 개수, expectedEntries 를 넘으면 살아있는 항목으로 다시 만듦
+    private final AtomicInteger bloomInsertions = new AtomicInteger();
+
+    public TokenRevocationStore(@Value("${jwt.revocation.expected-entries:100000}") int expectedEntries) {
+        this.expectedEntries = expectedEntries;
+        this.revoked = Caffeine.newBuilder()
+                .expireAfter(new UntilTokenExpiry())
+                .build();
+        this.bloomFilter = new BloomFilter(expectedEntries);
+    }
+
+    // 토큰 폐기: 이미 폐기된 토큰이면 false (재발급 시 같은 Refresh Token 의 동시 사용 방지에 사용)
+    // exp 가 이미 지났거나 jti 가 없으면 저장할 필요 없음
+    public boolean revoke(String tokenId, Instant expiresAt) {
+        if (tokenId == null || expiresAt == null || !expiresAt.isAfter(Instant.now())) {
+            return true;
+        }
+        if (revoked.asMap().putIfAbsent(tokenId, expiresAt) != null) {
+            return false;
+        }
+        bloomFilter.add(tokenId);
+        if (bloomInsertions.incrementAndGet() > expectedEntries) {
+            rebuildBloomFilter();
+        }
+        return true;
+    }
+
+    public boolean revoke(ParsedToken token) {
+        return revoke(token.id(), token.expiration());
+    }
+
+    public boolean isRevoked(String tokenId) {
+        if (tokenId == null || !bloomFilter.mightContain(tokenId)) {
+            return false;
+        }
+        return revoked.getIfPresent(tokenId) != null;
+    }
+
+    public long size() {
+        return revoked.estimatedSize();
+    }
+
+    // 만료된 jti 는 블룸 필터에서 지울 수 없으므로 살아있는 항목만으로 새로 만들어 교체
+    private synchronized void rebuildBloomFilter() {
+        if (bloomInsertions.get() <= expectedEntries) {
+            return;
+        }
+        revoked.cleanUp();
+        BloomFilter rebuilt = new BloomFilter(Math.max(expectedEntries, (int) revoked.estimatedSize() * 2));
+        for (String tokenId : revoked.asMap().keySet()) {
+            rebuilt.add(tokenId);
+        }
+        bloomFilter = rebuilt;
+        // 교체 직전에 이전 필터에만 추가된 jti 가 빠지지 않도록 공개 후 한 번 더 채움
+        int count = 0;
+        for (String tokenId : revoked.asMap().keySet()) {
+            rebuilt.add(tokenId);
+            count++;
+        }
+        bloomInsertions.set(count);
+    }
+
+    private static final class UntilTokenExpiry implements Expiry<String, Instant> {
+
+        @Override
+        public long expireAfterCreate(String key, Instant expiresAt, long currentTime) {
+            return Math.max(0, Duration.between(Instant.now(), expiresAt).toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Instant expiresAt, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, expiresAt, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, Instant expiresAt, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
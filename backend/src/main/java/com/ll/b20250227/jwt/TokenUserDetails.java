@@ -0,0 +1,38 @@
+package com.ll.b20250227.jwt;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// access token 만으로 만든 principal: 프로필 클레임이 있으면 함께 보관 (UserController 가 DB 대신 사용)
+public class TokenUserDetails extends User {
+
+    // 권한 문자열 종류는 몇 개뿐이므로 요청마다 새로 만들지 않고 공유
+    private static final Map<String, GrantedAuthority> AUTHORITIES = new ConcurrentHashMap<>();
+
+    private final TokenProfile profile;
+
+    public TokenUserDetails(ParsedToken token) {
+        super(token.subject(), "", authorities(token.profile()));
+        this.profile = token.profile();
+    }
+
+    // 프로필 클레임이 없는 토큰이면 null
+    public TokenProfile getProfile() {
+        return profile;
+    }
+
+    private static List<GrantedAuthority> authorities(TokenProfile profile) {
+        if (profile == null) {
+            return Collections.emptyList();
+        }
+        return profile.roles().stream()
+                .map(role -> AUTHORITIES.computeIfAbsent(role, SimpleGrantedAuthority::new))
+                .toList();
+    }
+}
@@ -0,0 +1,119 @@
+package com.ll.b20250227.jwt;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Ticker;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+
+// 검증이 끝난 토큰을 원문 다이제스트 기준으로 캐싱
+// 같은 access token 이 반복해서 들어오면 서명 검증/JSON 파싱 없이 해시 조회만으로 처리
+@Component
+@ConditionalOnProperty(prefix = "jwt.cache", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class VerifiedTokenCache {
+
+    private static final ThreadLocal<MessageDigest> SHA256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    });
+
+    private final JwtProvider jwtProvider;
+
+    // W-TinyLFU 크기 제한 + 토큰의 exp 시점에 만료
+    private final Cache<TokenDigest, ParsedToken> cache;
+
+    @Autowired
+    public VerifiedTokenCache(JwtProvider jwtProvider,
+                              @Value("${jwt.cache.max-size:10000}") long maxSize) {
+        this(jwtProvider, maxSize, Ticker.systemTicker(), Clock.systemUTC());
+    }
+
+    // 테스트에서 시간을 움직일 수 있도록 (ticker: 캐시 만료 판단, clock: exp 까지 남은 시간 계산)
+    VerifiedTokenCache(JwtProvider jwtProvider, long maxSize, Ticker ticker, Clock clock) {
+        this.jwtProvider = jwtProvider;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new UntilTokenExpiry(clock))
+                .ticker(ticker)
+                .recordStats()
+                .build();
+    }
+
+    // 캐시에 있으면 바로 반환, 없으면 JwtProvider 로 검증 후 유효한 토큰만 저장
+    public TokenParseResult parse(String token) {
+        if (token == null || token.isBlank()) {
+            return jwtProvider.parse(token);
+        }
+        TokenDigest digest = TokenDigest.of(token);
+        ParsedToken cached = cache.getIfPresent(digest);
+        if (cached != null) {
+            return TokenParseResult.success(cached);
+        }
+        TokenParseResult result = jwtProvider.parse(token);
+        if (result.isValid() && result.token().expiration() != null) {
+            cache.put(digest, result.token());
+        }
+        return result;
+    }
+
+    public long hitCount() {
+        return cache.stats().hitCount();
+    }
+
+    public long missCount() {
+        return cache.stats().missCount();
+    }
+
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    // 생성 시점에 토큰의 exp 까지 남은 시간으로 만료 설정, 읽기/갱신은 만료 시각에 영향 없음
+    private record UntilTokenExpiry(Clock clock) implements Expiry<TokenDigest, ParsedToken> {
+
+        @Override
+        public long expireAfterCreate(TokenDigest key, ParsedToken value, long currentTime) {
+            return Math.max(0, Duration.between(clock.instant(), value.expiration()).toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(TokenDigest key, ParsedToken value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(TokenDigest key, ParsedToken value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+
+    // SHA-256 앞 128비트를 키로 사용 (원문 토큰을 메모리에 들고 있지 않음)
+    record TokenDigest(long high, long low) {
+
+        static TokenDigest of(String token) {
+            MessageDigest md = SHA256.get();
+            byte[] hash = md.digest(token.getBytes(StandardCharsets.US_ASCII));
+            return new TokenDigest(toLong(hash, 0), toLong(hash, 8));
+        }
+
+        private static long toLong(byte[] bytes, int offset) {
+            long value = 0;
+            for (int i = offset; i < offset + 8; i++) {
+                value = (value << 8) | (bytes[i] & 0xFF);
+            }
+            return value;
+        }
+    }
+}
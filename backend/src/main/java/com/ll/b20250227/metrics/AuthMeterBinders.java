@@ -0,0 +1,89 @@
+package com.ll.b20250227.metrics;
+
+import com.ll.b20250227.audit.AuditLog;
+import com.ll.b20250227.jwt.RefreshSingleFlight;
+import com.ll.b20250227.jwt.TokenRevocationStore;
+import com.ll.b20250227.jwt.VerifiedTokenCache;
+import com.ll.b20250227.repository.UserWriteBehind;
+import com.ll.b20250227.security.ClientRateLimiter;
+import com.ll.b20250227.security.TokenBucketLimiter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+// 캐시/폐기 목록/write-behind 상태는 요청 경로에서 기록하지 않고 수집 시점에 읽어 감
+@Configuration
+public class AuthMeterBinders {
+
+    @Bean
+    public MeterBinder verifiedTokenCacheMetrics(ObjectProvider<VerifiedTokenCache> verifiedTokenCache) {
+        return registry -> verifiedTokenCache.ifAvailable(cache -> {
+            FunctionCounter.builder("auth.token.cache.requests", cache, VerifiedTokenCache::hitCount)
+                    .tag("result", "hit")
+                    .register(registry);
+            FunctionCounter.builder("auth.token.cache.requests", cache, VerifiedTokenCache::missCount)
+                    .tag("result", "miss")
+                    .register(registry);
+            Gauge.builder("auth.token.cache.size", cache, VerifiedTokenCache::size)
+                    .register(registry);
+        });
+    }
+
+    @Bean
+    public MeterBinder rateLimitMetrics(ClientRateLimiter rateLimiter) {
+        return registry -> {
+            for (TokenBucketLimiter limiter : rateLimiter.all()) {
+                FunctionCounter.builder("auth.rate_limit.rejected", limiter, TokenBucketLimiter::rejectedCount)
+                        .tag("policy", limiter.name())
+                        .register(registry);
+                Gauge.builder("auth.rate_limit.buckets", limiter, TokenBucketLimiter::size)
+                        .tag("policy", limiter.name())
+                        .register(registry);
+            }
+        };
+    }
+
+    @Bean
+    public MeterBinder refreshSingleFlightMetrics(RefreshSingleFlight refreshSingleFlight) {
+        // 다른 요청이 발급한 토큰 쌍을 그대로 받은 재발급 요청 수
+        return registry -> FunctionCounter.builder("auth.refresh.shared", refreshSingleFlight,
+                        RefreshSingleFlight::sharedCount)
+                .register(registry);
+    }
+
+    @Bean
+    public MeterBinder tokenRevocationMetrics(TokenRevocationStore revocationStore) {
+        return registry -> Gauge.builder("auth.token.revoked", revocationStore, TokenRevocationStore::size)
+                .register(registry);
+    }
+
+    @Bean
+    public MeterBinder userWriteBehindMetrics(UserWriteBehind userWriteBehind) {
+        return registry -> {
+            Gauge.builder("user.write_behind.pending", userWriteBehind, UserWriteBehind::pendingCount)
+                    .register(registry);
+            FunctionCounter.builder("user.write_behind.dropped", userWriteBehind, UserWriteBehind::droppedCount)
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder auditLogMetrics(AuditLog auditLog) {
+        return registry -> {
+            FunctionCounter.builder("audit.events.written", auditLog, AuditLog::writtenCount)
+                    .register(registry);
+            // buffer_full: 링 버퍼가 가득 차 버림, io_error: 세그먼트 쓰기 실패로 잃음
+            FunctionCounter.builder("audit.events.dropped", auditLog, AuditLog::droppedCount)
+                    .tag("reason", "buffer_full")
+                    .register(registry);
+            FunctionCounter.builder("audit.events.dropped", auditLog, AuditLog::lostCount)
+                    .tag("reason", "io_error")
+                    .register(registry);
+            Gauge.builder("audit.buffer.used", auditLog, AuditLog::bufferedCount)
+                    .register(registry);
+        };
+    }
+}
@@ -0,0 +1,169 @@
+package com.ll.b20250227.metrics;
+
+import com.ll.b20250227.jwt.TokenFailure;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+// 인증 경로 Micrometer 타이머 모음
+// 태그 조합별 Timer 를 시작 시 모두 등록해 두고, 요청 경로에서는 배열/필드 조회 후 record 만 호출 (태그 Map 할당 없음)
+// 모든 타이머는 percentile histogram 을 내보내므로 Prometheus 등에서 p99 계산 가능
+@Component
+public class AuthMetrics {
+
+    // 필터: outcome = valid | none(토큰 없음) | TokenFailure 소문자
+    private final Timer filterValid;
+    private final Timer filterNone;
+    private final Timer[] filterFailures = new Timer[TokenFailure.values().length];
+
+    // 토큰 발급: type = access | refresh
+    private final Timer issueAccess;
+    private final Timer issueRefresh;
+
+    // /api/refresh: outcome
+    private final Timer refreshSuccess;
+    private final Timer refreshInvalid;
+    private final Timer refreshNotRefreshToken;
+    private final Timer refreshRevoked;
+
+    // 로그인(loadUser) 단계: phase = kakao_userinfo | db_upsert
+    private final Timer loginKakaoUserInfo;
+    private final Timer loginDbUpsert;
+
+    // GET /api/user: source
+    private final Timer userInfoCache;
+    private final Timer userInfoDatabase;
+    private final Timer userInfoToken;
+    private final Timer userInfoNotModified;
+    private final Timer userInfoNotFound;
+
+    // POST /api/introspect (토큰 묶음 하나)
+    private final Timer introspect;
+
+    private final MeterRegistry registry;
+
+    public AuthMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        Duration filterMin = Duration.ofNanos(500);
+        Duration filterMax = Duration.ofMillis(100);
+        filterValid = timer("auth.filter", "outcome", "valid", filterMin, filterMax);
+        filterNone = timer("auth.filter", "outcome", "none", filterMin, filterMax);
+        for (TokenFailure failure : TokenFailure.values()) {
+            filterFailures[failure.ordinal()] =
+                    timer("auth.filter", "outcome", failure.name().toLowerCase(), filterMin, filterMax);
+        }
+
+        issueAccess = timer("auth.token.issue", "type", "access", Duration.ofNanos(500), Duration.ofMillis(100));
+        issueRefresh = timer("auth.token.issue", "type", "refresh", Duration.ofNanos(500), Duration.ofMillis(100));
+
+        Duration refreshMin = Duration.ofNanos(1_000);
+        Duration refreshMax = Duration.ofSeconds(1);
+        refreshSuccess = timer("auth.refresh", "outcome", "success", refreshMin, refreshMax);
+        refreshInvalid = timer("auth.refresh", "outcome", "invalid", refreshMin, refreshMax);
+        refreshNotRefreshToken = timer("auth.refresh", "outcome", "not_refresh_token", refreshMin, refreshMax);
+        refreshRevoked = timer("auth.refresh", "outcome", "revoked", refreshMin, refreshMax);
+
+        Duration loginMin = Duration.ofNanos(10_000);
+        Duration loginMax = Duration.ofSeconds(30);
+        loginKakaoUserInfo = timer("auth.login", "phase", "kakao_userinfo", loginMin, loginMax);
+        loginDbUpsert = timer("auth.login", "phase", "db_upsert", loginMin, loginMax);
+
+        Duration userInfoMin = Duration.ofNanos(1_000);
+        Duration userInfoMax = Duration.ofSeconds(5);
+        userInfoCache = timer("user.info", "source", "cache", userInfoMin, userInfoMax);
+        userInfoDatabase = timer("user.info", "source", "database", userInfoMin, userInfoMax);
+        userInfoToken = timer("user.info", "source", "token", userInfoMin, userInfoMax);
+        userInfoNotModified = timer("user.info", "source", "not_modified", userInfoMin, userInfoMax);
+        userInfoNotFound = timer("user.info", "source", "not_found", userInfoMin, userInfoMax);
+
+        introspect = timer("auth.introspect", "mode", "batch", Duration.ofNanos(1_000), Duration.ofSeconds(1));
+    }
+
+    // 레지스트리 없이 쓰는 곳(벤치마크 등)을 위한 no-op 인스턴스
+    public static AuthMetrics noop() {
+        return new AuthMetrics(new CompositeMeterRegistry());
+    }
+
+    public MeterRegistry registry() {
+        return registry;
+    }
+
+    // failure 가 null 이면 valid
+    public void recordFilter(TokenFailure failure, long elapsedNanos) {
+        Timer timer = failure == null ? filterValid : filterFailures[failure.ordinal()];
+        timer.record(elapsedNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordFilterWithoutToken(long elapsedNanos) {
+        filterNone.record(elapsedNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public Timer issueAccess() {
+        return issueAccess;
+    }
+
+    public Timer issueRefresh() {
+        return issueRefresh;
+    }
+
+    public Timer refreshSuccess() {
+        return refreshSuccess;
+    }
+
+    public Timer refreshInvalid() {
+        return refreshInvalid;
+    }
+
+    public Timer refreshNotRefreshToken() {
+        return refreshNotRefreshToken;
+    }
+
+    public Timer refreshRevoked() {
+        return refreshRevoked;
+    }
+
+    public Timer loginKakaoUserInfo() {
+        return loginKakaoUserInfo;
+    }
+
+    public Timer loginDbUpsert() {
+        return loginDbUpsert;
+    }
+
+    public Timer userInfoCache() {
+        return userInfoCache;
+    }
+
+    public Timer userInfoDatabase() {
+        return userInfoDatabase;
+    }
+
+    public Timer userInfoToken() {
+        return userInfoToken;
+    }
+
+    public Timer userInfoNotModified() {
+        return userInfoNotModified;
+    }
+
+    public Timer userInfoNotFound() {
+        return userInfoNotFound;
+    }
+
+    public Timer introspect() {
+        return introspect;
+    }
+
+    private Timer timer(String name, String tagKey, String tagValue, Duration min, Duration max) {
+        return Timer.builder(name)
+                .tag(tagKey, tagValue)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(min)
+                .maximumExpectedValue(max)
+                .register(registry);
+    }
+}
@@ -0,0 +1,31 @@
+package com.ll.b20250227.oauth;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.List;
+
+// OAuth2 인가 요청 쿠키 설정 (oauth2.authorization-cookie.*)
+// /oauth2/authorization/** 에서 만든 인가 요청을 세션 대신 암호화 쿠키에 담아 콜백까지 전달
+@ConfigurationProperties(prefix = "oauth2.authorization-cookie")
+public record AuthorizationCookieProperties(
+        @DefaultValue("OAUTH2_AUTH_REQUEST") String name,
+        // 쿠키를 보내는 경로 (콜백 /login/oauth2/code/* 에만 실리도록)
+        @DefaultValue("/login/oauth2/code") String path,
+        // 카카오 로그인 화면에서 머무를 수 있는 시간, 넘으면 콜백이 실패하고 다시 로그인해야 함
+        @DefaultValue("5m") Duration maxAge,
+        // 인코딩된 쿠키 값 최대 크기 (브라우저 한도 4KB 안쪽)
+        @DefaultValue("3KB") DataSize maxSize,
+        // 비우면 요청이 HTTPS 일 때만 Secure
+        Boolean secure,
+        // AES 키 (Base64, 128/192/256비트), 첫 번째 키로 암호화하고 모든 키로 복호화
+        // 모든 노드가 같은 키를 써야 어느 노드에서든 콜백을 처리할 수 있음
+        List<String> secrets
+) {
+
+    public AuthorizationCookieProperties {
+        secrets = secrets != null ? secrets.stream().filter(secret -> !secret.isBlank()).toList() : List.of();
+    }
+}
@@ -0,0 +1,258 @@
+package com.ll.b20250227.oauth;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseCookie;
+import org.springframework.security.oauth2.client.web.AuthorizationRequestRepository;
+import org.springframework.security.oauth2.core.endpoint.OAuth2AuthorizationRequest;
+import org.springframework.security.oauth2.core.endpoint.OAuth2ParameterNames;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Cipher;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// OAuth2 인가 요청(state, redirect_uri, PKCE code_verifier 등)을 세션 대신 쿠키에 저장
+// /oauth2/authorization/kakao 를 처리한 노드와 /login/oauth2/code/kakao 를 처리하는 노드가 달라도 되고, 서버 메모리를 쓰지 않음
+// 값은 AES-GCM 으로 암호화 (태그로 위변조도 검출), 만료 시각을 값 안에 넣어 쿠키 Max-Age 를 조작해도 오래된 요청은 거부
+@Component
+public class CookieAuthorizationRequestRepository implements AuthorizationRequestRepository<OAuth2AuthorizationRequest> {
+
+    private static final Logger log = LoggerFactory.getLogger(CookieAuthorizationRequestRepository.class);
+
+    private static final byte VERSION = 1;
+    private static final int IV_LENGTH = 12;
+    private static final int TAG_BITS = 128;
+    private static final String TRANSFORMATION = "AES/GCM/NoPadding";
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+    private static final TypeReference<Map<String, Object>> PAYLOAD_TYPE = new TypeReference<>() {
+    };
+
+    private final AuthorizationCookieProperties properties;
+    // 첫 번째 키로 암호화, 복호화는 모든 키로 시도 (키 교체 중 발급된 쿠키도 처리)
+    private final List<SecretKey> keys;
+    // AAD: 다른 용도의 쿠키 값을 가져와 붙여도 복호화되지 않도록 쿠키 이름과 버전을 묶음
+    private final byte[] associatedData;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final SecureRandom random = new SecureRandom();
+    private final Clock clock;
+
+    @Autowired
+    public CookieAuthorizationRequestRepository(AuthorizationCookieProperties properties) {
+        this(properties, Clock.systemUTC());
+    }
+
+    // 테스트에서 만료 시각을 고정하기 위해 package-private
+    CookieAuthorizationRequestRepository(AuthorizationCookieProperties properties, Clock clock) {
+        this.properties = properties;
+        this.clock = clock;
+        this.keys = loadKeys(properties.secrets());
+        this.associatedData = (properties.name() + "." + VERSION).getBytes(StandardCharsets.US_ASCII);
+    }
+
+    @Override
+    public OAuth2AuthorizationRequest loadAuthorizationRequest(HttpServletRequest request) {
+        String state = request.getParameter(OAuth2ParameterNames.STATE);
+        if (state == null) {
+            return null;
+        }
+        OAuth2AuthorizationRequest authorizationRequest = read(request);
+        // 다른 로그인 시도(다른 탭 등)의 콜백이면 무시 (세션 저장소와 같은 동작)
+        return authorizationRequest != null && state.equals(authorizationRequest.getState()) ? authorizationRequest : null;
+    }
+
+    @Override
+    public void saveAuthorizationRequest(OAuth2AuthorizationRequest authorizationRequest,
+                                         HttpServletRequest request, HttpServletResponse response) {
+        if (authorizationRequest == null) {
+            expire(request, response);
+            return;
+        }
+        String value = encrypt(encode(authorizationRequest));
+        if (value.length() > properties.maxSize().toBytes()) {
+            // 브라우저가 조용히 버리면 콜백에서 원인을 알 수 없으므로 여기서 실패시킴
+            throw new IllegalStateException("OAuth2 인가 요청 쿠키가 너무 큽니다: " + value.length() + " bytes");
+        }
+        write(request, response, value, properties.maxAge().toSeconds());
+    }
+
+    @Override
+    public OAuth2AuthorizationRequest removeAuthorizationRequest(HttpServletRequest request, HttpServletResponse response) {
+        OAuth2AuthorizationRequest authorizationRequest = loadAuthorizationRequest(request);
+        // 한 번 쓴 인가 요청은 재사용할 수 없도록 성공 여부와 관계없이 쿠키 삭제
+        if (findCookie(request) != null) {
+            expire(request, response);
+        }
+        return authorizationRequest;
+    }
+
+    private OAuth2AuthorizationRequest read(HttpServletRequest request) {
+        String value = findCookie(request);
+        if (value == null || value.length() > properties.maxSize().toBytes()) {
+            return null;
+        }
+        byte[] plain = decrypt(value);
+        if (plain == null) {
+            return null;
+        }
+        try {
+            return decode(objectMapper.readValue(plain, PAYLOAD_TYPE));
+        } catch (IOException | RuntimeException e) {
+            log.debug("OAuth2 인가 요청 쿠키를 읽을 수 없습니다.", e);
+            return null;
+        }
+    }
+
+    private String findCookie(HttpServletRequest request) {
+        Cookie[] cookies = request.getCookies();
+        if (cookies == null) {
+            return null;
+        }
+        for (Cookie cookie : cookies) {
+            if (properties.name().equals(cookie.getName())) {
+                return cookie.getValue();
+            }
+        }
+        return null;
+    }
+
+    private void write(HttpServletRequest request, HttpServletResponse response, String value, long maxAgeSeconds) {
+        ResponseCookie cookie = ResponseCookie.from(properties.name(), value)
+                .path(request.getContextPath() + properties.path())
+                .maxAge(maxAgeSeconds)
+                .httpOnly(true)
+                .secure(properties.secure() != null ? properties.secure() : request.isSecure())
+                // 카카오에서 돌아오는 최상위 GET 이동에는 Lax 쿠키가 실림
+                .sameSite("Lax")
+                .build();
+        response.addHeader(HttpHeaders.SET_COOKIE, cookie.toString());
+    }
+
+    private void expire(HttpServletRequest request, HttpServletResponse response) {
+        write(request, response, "", 0);
+    }
+
+    // 필드 이름을 짧게 줄인 JSON (쿠키 크기 절약), 만료 시각은 epoch 초
+    private byte[] encode(OAuth2AuthorizationRequest authorizationRequest) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("x", clock.instant().plus(properties.maxAge()).getEpochSecond());
+        payload.put("u", authorizationRequest.getAuthorizationUri());
+        payload.put("c", authorizationRequest.getClientId());
+        payload.put("r", authorizationRequest.getRedirectUri());
+        payload.put("s", authorizationRequest.getScopes());
+        payload.put("t", authorizationRequest.getState());
+        payload.put("p", authorizationRequest.getAdditionalParameters());
+        payload.put("a", authorizationRequest.getAttributes());
+        try {
+            return objectMapper.writeValueAsBytes(payload);
+        } catch (IOException e) {
+            throw new IllegalStateException("OAuth2 인가 요청을 직렬화할 수 없습니다.", e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private OAuth2AuthorizationRequest decode(Map<String, Object> payload) {
+        long expiresAt = ((Number) payload.get("x")).longValue();
+        if (clock.instant().getEpochSecond() >= expiresAt) {
+            return null;
+        }
+        List<String> scopes = (List<String>) payload.get("s");
+        Map<String, Object> additionalParameters = (Map<String, Object>) payload.get("p");
+        Map<String, Object> attributes = (Map<String, Object>) payload.get("a");
+        Set<String> scopeSet = scopes != null ? new LinkedHashSet<>(scopes) : Set.of();
+        // authorizationRequestUri 는 콜백에서 쓰지 않으므로 저장하지 않고 다른 필드로 다시 만듦
+        return OAuth2AuthorizationRequest.authorizationCode()
+                .authorizationUri((String) payload.get("u"))
+                .clientId((String) payload.get("c"))
+                .redirectUri((String) payload.get("r"))
+                .scopes(scopeSet)
+                .state((String) payload.get("t"))
+                .additionalParameters(additionalParameters != null ? additionalParameters : Map.of())
+                .attributes(attributes != null ? attributes : Map.of())
+                .build();
+    }
+
+    // VERSION(1) | IV(12) | 암호문 + 태그(16) 을 Base64URL 로
+    private String encrypt(byte[] plain) {
+        byte[] iv = new byte[IV_LENGTH];
+        random.nextBytes(iv);
+        try {
+            Cipher cipher = Cipher.getInstance(TRANSFORMATION);
+            cipher.init(Cipher.ENCRYPT_MODE, keys.get(0), new GCMParameterSpec(TAG_BITS, iv));
+            cipher.updateAAD(associatedData);
+            byte[] encrypted = cipher.doFinal(plain);
+            return ENCODER.encodeToString(ByteBuffer.allocate(1 + IV_LENGTH + encrypted.length)
+                    .put(VERSION).put(iv).put(encrypted).array());
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("OAuth2 인가 요청 쿠키를 암호화할 수 없습니다.", e);
+        }
+    }
+
+    // 형식이 다르거나 어느 키로도 태그가 맞지 않으면 null
+    private byte[] decrypt(String value) {
+        byte[] data;
+        try {
+            data = DECODER.decode(value);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+        if (data.length <= 1 + IV_LENGTH + TAG_BITS / 8 || data[0] != VERSION) {
+            return null;
+        }
+        GCMParameterSpec spec = new GCMParameterSpec(TAG_BITS, data, 1, IV_LENGTH);
+        for (SecretKey key : keys) {
+            try {
+                Cipher cipher = Cipher.getInstance(TRANSFORMATION);
+                cipher.init(Cipher.DECRYPT_MODE, key, spec);
+                cipher.updateAAD(associatedData);
+                return cipher.doFinal(data, 1 + IV_LENGTH, data.length - 1 - IV_LENGTH);
+            } catch (GeneralSecurityException e) {
+                // 다음 키로 시도
+            }
+        }
+        log.debug("OAuth2 인가 요청 쿠키 복호화 실패 (키가 다르거나 변조됨)");
+        return null;
+    }
+
+    private static List<SecretKey> loadKeys(List<String> secrets) {
+        List<SecretKey> keys = new ArrayList<>();
+        for (String secret : secrets) {
+            byte[] bytes = Base64.getDecoder().decode(secret.trim());
+            if (bytes.length != 16 && bytes.length != 24 && bytes.length != 32) {
+                throw new IllegalStateException("oauth2.authorization-cookie.secrets 는 128/192/256비트 AES 키여야 합니다.");
+            }
+            keys.add(new SecretKeySpec(bytes, "AES"));
+        }
+        if (keys.isEmpty()) {
+            // 단일 노드 개발 환경용: 노드마다 키가 달라 다른 노드로 간 콜백은 실패함
+            log.warn("oauth2.authorization-cookie.secrets 가 설정되지 않아 임시 키를 생성합니다. 여러 노드로 운영할 때는 같은 키를 설정해야 합니다.");
+            byte[] bytes = new byte[32];
+            new SecureRandom().nextBytes(bytes);
+            keys.add(new SecretKeySpec(bytes, "AES"));
+        }
+        return List.copyOf(keys);
+    }
+}
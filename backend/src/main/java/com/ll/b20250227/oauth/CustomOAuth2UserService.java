@@ -1,7 +1,11 @@
 package com.ll.b20250227.oauth;
 
+import com.ll.b20250227.cache.UserProfileCache;
 import com.ll.b20250227.entity.User;
+import com.ll.b20250227.image.ProfileImageStore;
+import com.ll.b20250227.metrics.AuthMetrics;
 import com.ll.b20250227.repository.UserRepository;
+import com.ll.b20250227.repository.UserWriteBehind;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.oauth2.client.userinfo.DefaultOAuth2UserService;
 import org.springframework.security.oauth2.client.userinfo.OAuth2UserRequest;
@@ -13,21 +17,34 @@ import org.springframework.stereotype.Service;
 
 import java.util.Collections;
 import java.util.Map;
+import java.util.Objects;
 
 @Service
 public class CustomOAuth2UserService implements OAuth2UserService<OAuth2UserRequest, OAuth2User> {
 
     private final UserRepository userRepository;
-
-    public CustomOAuth2UserService(UserRepository userRepository) {
+    private final UserProfileCache userProfileCache;
+    private final UserWriteBehind userWriteBehind;
+    private final ProfileImageStore profileImageStore;
+    // 커넥션 풀을 쓰는 공유 인스턴스 (KakaoHttpClientConfig)
+    private final DefaultOAuth2UserService delegate;
+    private final AuthMetrics metrics;
+
+    public CustomOAuth2UserService(UserRepository userRepository, UserProfileCache userProfileCache,
+                                   UserWriteBehind userWriteBehind, ProfileImageStore profileImageStore,
+                                   DefaultOAuth2UserService kakaoOAuth2UserService, AuthMetrics metrics) {
         this.userRepository = userRepository;
+        this.userProfileCache = userProfileCache;
+        this.userWriteBehind = userWriteBehind;
+        this.profileImageStore = profileImageStore;
+        this.delegate = kakaoOAuth2UserService;
+        this.metrics = metrics;
     }
 
     @Override
     public OAuth2User loadUser(OAuth2UserRequest userRequest) throws OAuth2AuthenticationException {
-        // 기본 OAuth2UserService를 통해 사용자 정보를 가져옴
-        DefaultOAuth2UserService delegate = new DefaultOAuth2UserService();
-        OAuth2User oAuth2User = delegate.loadUser(userRequest);
+        // 기본 OAuth2UserService를 통해 사용자 정보를 가져옴 (카카오 호출 시간과 DB 반영 시간을 나눠서 기록)
+        OAuth2User oAuth2User = metrics.loginKakaoUserInfo().record(() -> delegate.loadUser(userRequest));
 
         // 제공자 정보 (kakao)
         String provider = userRequest.getClientRegistration().getRegistrationId();
@@ -37,7 +54,7 @@ public class CustomOAuth2UserService implements OAuth2UserService<OAuth2UserRequ
         Long id = Long.valueOf(attributes.get("id").toString());
 
         // 사용자 정보 생성 또는 업데이트
-        User user = saveOrUpdateUser(provider, id, attributes);
+        User user = metrics.loginDbUpsert().record(() -> saveOrUpdateUser(provider, id, attributes));
 
         // ROLE_USER 권한을 부여하는 방식
         return new DefaultOAuth2User(
@@ -81,8 +98,17 @@ public class CustomOAuth2UserService implements OAuth2UserService<OAuth2UserRequ
             }
         }
 
-        // 사용자 생성 또는 업데이트
-        User user = userRepository.findById(id).orElse(new User());
+        // 현재 상태: 반영 대기 중이거나 최근에 쓴 값이 있으면 DB 조회 생략
+        User current = userWriteBehind.findCurrent(id);
+        if (current == null) {
+            current = userRepository.findById(id).orElse(null);
+            if (current != null) {
+                userWriteBehind.remember(current);
+            }
+        }
+
+        // 사용자 생성 또는 업데이트 (기억해 둔 값은 건드리지 않도록 복사본에 반영)
+        User user = current != null ? copyOf(current) : new User();
         user.setId(id);
         user.setProvider(provider);
 
@@ -98,6 +124,33 @@ public class CustomOAuth2UserService implements OAuth2UserService<OAuth2UserRequ
             user.setProfileImageUrl(profileImageUrl);
         }
 
-        return userRepository.save(user);
+        // 카카오 정보가 그대로면 쓰지 않음
+        if (user.equals(current)) {
+            return current;
+        }
+        // 이전 버전이 실린 access token 은 프로필 클레임 대신 DB 값을 쓰게 됨 (TokenProfileResolver)
+        long version = current != null && current.getProfileVersion() != null ? current.getProfileVersion() : 0;
+        user.setProfileVersion(version + 1);
+
+        // 로그인 요청은 DB 쓰기를 기다리지 않고 백그라운드에서 batch 로 반영
+        userWriteBehind.submit(user);
+        // /api/user 캐시된 응답 무효화
+        userProfileCache.invalidate(id);
+        // 프로필 이미지가 바뀌었으면 이전 URL 로 만들어 둔 이미지 매핑도 지움
+        if (current != null && !Objects.equals(current.getProfileImageUrl(), user.getProfileImageUrl())) {
+            profileImageStore.invalidate(current.getProfileImageUrl());
+        }
+        return user;
+    }
+
+    private static User copyOf(User user) {
+        return User.builder()
+                .id(user.getId())
+                .nickname(user.getNickname())
+                .email(user.getEmail())
+                .profileImageUrl(user.getProfileImageUrl())
+                .provider(user.getProvider())
+                .profileVersion(user.getProfileVersion())
+                .build();
     }
 }
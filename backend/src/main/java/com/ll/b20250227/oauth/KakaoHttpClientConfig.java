@@ -0,0 +1,94 @@
+package com.ll.b20250227.oauth;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.converter.FormHttpMessageConverter;
+import org.springframework.security.oauth2.client.endpoint.OAuth2AccessTokenResponseClient;
+import org.springframework.security.oauth2.client.endpoint.OAuth2AuthorizationCodeGrantRequest;
+import org.springframework.security.oauth2.client.endpoint.RestClientAuthorizationCodeTokenResponseClient;
+import org.springframework.security.oauth2.client.http.OAuth2ErrorResponseErrorHandler;
+import org.springframework.security.oauth2.client.userinfo.DefaultOAuth2UserService;
+import org.springframework.security.oauth2.core.http.converter.OAuth2AccessTokenResponseHttpMessageConverter;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestTemplate;
+
+// 카카오 토큰 발급(kauth)과 사용자 정보(kapi) 호출이 함께 쓰는 커넥션 풀 HTTP 클라이언트
+// 로그인마다 새 클라이언트를 만들지 않고 연결을 재사용하며, 타임아웃으로 서블릿 스레드가 무한정 묶이지 않게 함
+@Configuration
+public class KakaoHttpClientConfig {
+
+    // kakao.http 타이머의 call 태그 값
+    public static final String TOKEN_CALL = "token";
+    public static final String USER_INFO_CALL = "userinfo";
+    public static final String PROFILE_IMAGE_CALL = "profile_image";
+
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient kakaoHttpClient(KakaoHttpProperties properties) {
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(properties.maxConnections())
+                .setMaxConnPerRoute(properties.maxConnectionsPerRoute())
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.of(properties.connectTimeout()))
+                        .setSocketTimeout(Timeout.of(properties.readTimeout()))
+                        .build())
+                .build();
+
+        return HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.of(properties.connectionRequestTimeout()))
+                        .setResponseTimeout(Timeout.of(properties.readTimeout()))
+                        .build())
+                .setKeepAliveStrategy((response, context) -> TimeValue.of(properties.keepAlive()))
+                .evictIdleConnections(TimeValue.of(properties.keepAlive()))
+                .build();
+    }
+
+    @Bean
+    public HttpComponentsClientHttpRequestFactory kakaoRequestFactory(CloseableHttpClient kakaoHttpClient) {
+        return new HttpComponentsClientHttpRequestFactory(kakaoHttpClient);
+    }
+
+    // 인가 코드 -> 토큰 교환 (token-uri)
+    @Bean
+    public OAuth2AccessTokenResponseClient<OAuth2AuthorizationCodeGrantRequest> kakaoAccessTokenResponseClient(
+            HttpComponentsClientHttpRequestFactory kakaoRequestFactory, MeterRegistry meterRegistry) {
+        RestClient restClient = RestClient.builder()
+                .requestFactory(kakaoRequestFactory)
+                .messageConverters(converters -> {
+                    converters.clear();
+                    converters.add(new FormHttpMessageConverter());
+                    converters.add(new OAuth2AccessTokenResponseHttpMessageConverter());
+                })
+                .defaultStatusHandler(new OAuth2ErrorResponseErrorHandler())
+                .requestInterceptor(new OutboundLatencyInterceptor(TOKEN_CALL, meterRegistry))
+                .build();
+
+        RestClientAuthorizationCodeTokenResponseClient client = new RestClientAuthorizationCodeTokenResponseClient();
+        client.setRestClient(restClient);
+        return client;
+    }
+
+    // 사용자 정보 조회 (user-info-uri), CustomOAuth2UserService 에서 공유
+    @Bean
+    public DefaultOAuth2UserService kakaoOAuth2UserService(HttpComponentsClientHttpRequestFactory kakaoRequestFactory,
+                                                           MeterRegistry meterRegistry) {
+        RestTemplate restTemplate = new RestTemplate(kakaoRequestFactory);
+        restTemplate.setErrorHandler(new OAuth2ErrorResponseErrorHandler());
+        restTemplate.getInterceptors().add(new OutboundLatencyInterceptor(USER_INFO_CALL, meterRegistry));
+
+        DefaultOAuth2UserService userService = new DefaultOAuth2UserService();
+        userService.setRestOperations(restTemplate);
+        return userService;
+    }
+}
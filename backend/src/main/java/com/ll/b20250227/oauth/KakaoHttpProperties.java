@@ -0,0 +1,21 @@
+package com.ll.b20250227.oauth;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+// 카카오 토큰/사용자 정보 호출용 HTTP 클라이언트 설정 (kakao.http.*)
+@ConfigurationProperties(prefix = "kakao.http")
+public record KakaoHttpProperties(
+        // 커넥션 풀 전체/호스트별 최대 연결 수 (kauth, kapi 두 호스트)
+        @DefaultValue("100") int maxConnections,
+        @DefaultValue("50") int maxConnectionsPerRoute,
+        @DefaultValue("2s") Duration connectTimeout,
+        @DefaultValue("5s") Duration readTimeout,
+        // 풀에서 연결을 얻기까지 기다리는 최대 시간
+        @DefaultValue("1s") Duration connectionRequestTimeout,
+        // 유휴 연결 유지 시간 (서버가 Keep-Alive 를 알려주지 않을 때)
+        @DefaultValue("30s") Duration keepAlive
+) {
+}
@@ -1,6 +1,8 @@
 package com.ll.b20250227.oauth;
 
+import com.ll.b20250227.audit.AuditLog;
 import com.ll.b20250227.jwt.JwtProvider;
+import com.ll.b20250227.jwt.TokenProfileResolver;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
@@ -15,9 +17,14 @@ import java.util.Map;
 @Component
 public class OAuth2LoginSuccessHandler implements AuthenticationSuccessHandler {
     private final JwtProvider jwtProvider;
+    private final TokenProfileResolver tokenProfileResolver;
+    private final AuditLog auditLog;
 
-    public OAuth2LoginSuccessHandler(final JwtProvider jwtProvider) {
+    public OAuth2LoginSuccessHandler(final JwtProvider jwtProvider, final TokenProfileResolver tokenProfileResolver,
+                                     final AuditLog auditLog) {
         this.jwtProvider = jwtProvider;
+        this.tokenProfileResolver = tokenProfileResolver;
+        this.auditLog = auditLog;
     }
 
     @Override
@@ -25,8 +32,10 @@ public class OAuth2LoginSuccessHandler implements AuthenticationSuccessHandler {
                                         Authentication authentication) throws IOException, ServletException {
         OAuth2User oAuth2User = (OAuth2User) authentication.getPrincipal();
         Long kakaoId = (Long) oAuth2User.getAttributes().get("id");
-        String accessToken = jwtProvider.createAccessToken(String.valueOf(kakaoId));
+        // jwt.profile-claims.enabled 이면 방금 반영 예약한 프로필을 access token 에 실음
+        String accessToken = jwtProvider.createAccessToken(String.valueOf(kakaoId), tokenProfileResolver.resolve(kakaoId));
         String refreshToken = jwtProvider.createRefreshToken(String.valueOf(kakaoId));
+        auditLog.login(kakaoId, request.getRemoteAddr());
         response.sendRedirect("http://localhost:3000/?success=true&accessToken=" + accessToken + "&refreshToken=" + refreshToken);
     }
 }
@@ -0,0 +1,48 @@
+package com.ll.b20250227.oauth;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+// 외부 호출 한 건의 지연 시간을 kakao.http 타이머(call, outcome 태그)에 기록
+// 응답 본문 읽기 시간은 포함되지 않음 (헤더 수신까지)
+public class OutboundLatencyInterceptor implements ClientHttpRequestInterceptor {
+
+    public static final String METRIC_NAME = "kakao.http";
+
+    private final Timer success;
+    private final Timer error;
+
+    public OutboundLatencyInterceptor(String call, MeterRegistry registry) {
+        this.success = timer(call, "success", registry);
+        this.error = timer(call, "error", registry);
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body,
+                                        ClientHttpRequestExecution execution) throws IOException {
+        long start = System.nanoTime();
+        boolean ok = false;
+        try {
+            ClientHttpResponse response = execution.execute(request, body);
+            ok = !response.getStatusCode().isError();
+            return response;
+        } finally {
+            (ok ? success : error).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private static Timer timer(String call, String outcome, MeterRegistry registry) {
+        return Timer.builder(METRIC_NAME)
+                .tag("call", call)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+}
@@ -0,0 +1,5 @@
+package com.ll.b20250227.repository;
+
+// 다른 서비스가 목록 화면에 표시할 사용자 정보 (이메일 등은 포함하지 않음)
+public record UserDisplayRow(Long id, String nickname, String profileImageUrl) {
+}
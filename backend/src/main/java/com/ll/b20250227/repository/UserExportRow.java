@@ -0,0 +1,6 @@
+package com.ll.b20250227.repository;
+
+// 사용자 내보내기 한 줄 (엔티티 대신 DTO projection 으로 조회해서 영속성 컨텍스트에 쌓이지 않음)
+public record UserExportRow(Long id, String provider, String nickname, String email, String profileImageUrl,
+                            Long profileVersion) {
+}
@@ -2,7 +2,35 @@
 package com.ll.b20250227.repository;
 
 import com.ll.b20250227.entity.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
-}
\ No newline at end of file
+
+    // 내보내기용 keyset 페이지: afterId 다음부터 id 순으로 limit 개 (OFFSET 없이 PK 인덱스로 바로 찾아감)
+    @Query("select new com.ll.b20250227.repository.UserExportRow("
+            + "u.id, u.provider, u.nickname, u.email, u.profileImageUrl, u.profileVersion) "
+            + "from User u where u.id > :afterId order by u.id")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    List<UserExportRow> findExportPage(Long afterId, Limit limit);
+
+    // 토큰 프로필로 /api/user 를 응답할 때 토큰에 없는 이메일만 조회 (jwt.profile-claims.include-email=false)
+    @Query("select u.email from User u where u.id = :id")
+    Optional<String> findEmailById(Long id);
+
+    // 여러 사용자 표시 정보를 IN 쿼리 한 번으로 조회 (엔티티 대신 필요한 컬럼만)
+    @Query("select new com.ll.b20250227.repository.UserDisplayRow(u.id, u.nickname, u.profileImageUrl) "
+            + "from User u where u.id in :ids")
+    List<UserDisplayRow> findDisplayRows(Collection<Long> ids);
+}
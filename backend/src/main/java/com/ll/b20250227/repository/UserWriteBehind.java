@@ -0,0 +1,264 @@
+package com.ll.b20250227.repository;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.ll.b20250227.entity.User;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.stereotype.Component;
+
+import java.sql.DatabaseMetaData;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// 로그인 요청에서 users 쓰기를 분리하는 write-behind
+// 같은 사용자에 대한 변경은 마지막 값 하나로 합치고, 백그라운드 스레드가 JDBC batch upsert 로 반영
+// 반영에 실패하면 대기 값을 그대로 두고 간격을 늘려 가며 다시 시도, max-attempts 번 실패하면 버리고 dropped 로 셈
+@Component
+public class UserWriteBehind {
+
+    private static final Logger log = LoggerFactory.getLogger(UserWriteBehind.class);
+
+    private static final String COLUMNS = "users (id, provider, nickname, email, profile_image_url, profile_version)";
+    private static final String VALUES = "VALUES (?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    // 있으면 UPDATE, 없으면 INSERT 를 한 문장으로 처리하는 DB 별 upsert (시작 시 DB 종류로 결정)
+    private final String upsertSql;
+    private final int batchSize;
+    private final Duration offerTimeout;
+    private final int maxAttempts;
+    private final Duration retryBackoff;
+
+    // 아직 DB 에 반영되지 않은 최신 값 (사용자당 하나)
+    private final ConcurrentHashMap<Long, User> pending = new ConcurrentHashMap<>();
+    // 반영 대기 중인 사용자 id, 가득 차면 호출 스레드가 offerTimeout 만큼 기다린 뒤 직접 씀
+    private final BlockingQueue<Long> queue;
+    // 마지막으로 DB 에 쓴(또는 읽은) 값, 변경 여부 판단과 다음 profileVersion 계산에 사용
+    // 다른 노드나 DB 에서 직접 바뀐 값은 알 수 없으므로 known-user-ttl 이 지나면 다시 DB 에서 읽음
+    private final Cache<Long, User> lastWritten;
+    // 재시도를 모두 실패해 버린 변경 수
+    private final LongAdder dropped = new LongAdder();
+
+    private final Thread writer;
+    private volatile boolean running = true;
+
+    public UserWriteBehind(JdbcTemplate jdbcTemplate,
+                           @Value("${user.write-behind.queue-capacity:10000}") int queueCapacity,
+                           @Value("${user.write-behind.batch-size:100}") int batchSize,
+                           @Value("${user.write-behind.offer-timeout:100ms}") Duration offerTimeout,
+                           @Value("${user.write-behind.known-users:100000}") long knownUsers,
+                           @Value("${user.write-behind.known-user-ttl:1m}") Duration knownUserTtl,
+                           @Value("${user.write-behind.max-attempts:5}") int maxAttempts,
+                           @Value("${user.write-behind.retry-backoff:200ms}") Duration retryBackoff) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.upsertSql = upsertSql(databaseProductName(jdbcTemplate));
+        this.batchSize = batchSize;
+        this.offerTimeout = offerTimeout;
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.retryBackoff = retryBackoff;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.lastWritten = Caffeine.newBuilder()
+                .maximumSize(knownUsers)
+                .expireAfterWrite(knownUserTtl)
+                .build();
+        this.writer = new Thread(this::run, "user-write-behind");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    // 가장 최근 상태: 반영 대기 값 -> 마지막으로 쓴 값 순서로 조회, 모르면 null (DB 조회 필요)
+    public User findCurrent(Long id) {
+        User user = pending.get(id);
+        return user != null ? user : lastWritten.getIfPresent(id);
+    }
+
+    // 아직 DB 에 없는 값만 조회 (읽기 경로에서 DB 조회 전에 확인)
+    public User findPending(Long id) {
+        return pending.get(id);
+    }
+
+    public int pendingCount() {
+        return pending.size();
+    }
+
+    public long droppedCount() {
+        return dropped.sum();
+    }
+
+    // DB 에서 읽은 값을 기억해 두고 다음 로그인 때 SELECT 생략
+    public void remember(User user) {
+        lastWritten.put(user.getId(), user);
+    }
+
+    // 변경된 사용자 반영 예약: 같은 id 가 대기 중이면 값만 교체
+    public void submit(User user) {
+        Long id = user.getId();
+        if (pending.put(id, user) != null) {
+            return;
+        }
+        try {
+            if (queue.offer(id, offerTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // 큐가 가득 차면 백프레셔: 호출 스레드에서 직접 반영
+        log.warn("user write-behind 큐가 가득 차 직접 반영합니다. id={}", id);
+        try {
+            flush(List.of(id));
+        } catch (RuntimeException e) {
+            // 큐에 없는 대기 값이 남지 않도록 지움 (예외가 로그인 실패로 이어지므로 토큰도 발급되지 않음)
+            pending.remove(id, user);
+            throw e;
+        }
+    }
+
+    private void run() {
+        List<Long> ids = new ArrayList<>(batchSize);
+        try {
+            while (running) {
+                Long id = queue.poll(1, TimeUnit.SECONDS);
+                if (id == null) {
+                    continue;
+                }
+                ids.add(id);
+                queue.drainTo(ids, batchSize - 1);
+                flushWithRetry(ids);
+                ids.clear();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // 종료: 남은 변경을 이 스레드에서 모두 반영 (shutdown 호출 스레드와 동시에 쓰지 않음)
+        queue.clear();
+        List<Long> remaining = new ArrayList<>(pending.keySet());
+        for (int from = 0; from < remaining.size(); from += batchSize) {
+            List<Long> batch = remaining.subList(from, Math.min(remaining.size(), from + batchSize));
+            try {
+                flush(batch);
+            } catch (RuntimeException e) {
+                drop(batch, e);
+            }
+        }
+    }
+
+    // DB 오류는 대개 잠깐이므로 같은 batch 를 간격을 두 배씩 늘려 가며 다시 시도
+    // 그동안 새로 들어온 변경은 큐에 쌓이고, 가득 차면 요청 스레드가 직접 반영을 시도함
+    private void flushWithRetry(List<Long> ids) throws InterruptedException {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                flush(ids);
+                return;
+            } catch (RuntimeException e) {
+                if (!running) {
+                    // 종료 중이면 마지막 반영에서 한 번 더 시도
+                    return;
+                }
+                if (attempt >= maxAttempts) {
+                    drop(ids, e);
+                    return;
+                }
+                log.warn("user write-behind 반영 실패, 다시 시도합니다. attempt={} ids={}", attempt, ids, e);
+                backoff(retryBackoff.toNanos() << Math.min(attempt - 1, 10));
+            }
+        }
+    }
+
+    private void backoff(long nanos) throws InterruptedException {
+        long deadline = System.nanoTime() + nanos;
+        long remaining;
+        while (running && (remaining = deadline - System.nanoTime()) > 0) {
+            TimeUnit.NANOSECONDS.sleep(Math.min(remaining, TimeUnit.MILLISECONDS.toNanos(100)));
+        }
+    }
+
+    private void drop(List<Long> ids, RuntimeException e) {
+        int count = 0;
+        for (Long id : ids) {
+            if (pending.remove(id) != null) {
+                count++;
+            }
+            // 다음 로그인 때 DB 에서 다시 읽어 비교하도록
+            lastWritten.invalidate(id);
+        }
+        dropped.add(count);
+        log.error("user write-behind 반영을 {}번 실패해 변경을 버립니다. ids={}", maxAttempts, ids, e);
+    }
+
+    private void flush(List<Long> ids) {
+        List<User> users = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            User user = pending.get(id);
+            if (user != null) {
+                users.add(user);
+            }
+        }
+        if (users.isEmpty()) {
+            return;
+        }
+        // 실패하면 예외만 던지고 대기 값은 남겨 둠 (재시도/버리기는 호출한 쪽에서 결정)
+        jdbcTemplate.batchUpdate(upsertSql, users, users.size(), (ps, user) -> {
+            ps.setLong(1, user.getId());
+            ps.setString(2, user.getProvider());
+            ps.setString(3, user.getNickname());
+            ps.setString(4, user.getEmail());
+            ps.setString(5, user.getProfileImageUrl());
+            ps.setObject(6, user.getProfileVersion());
+        });
+        for (User user : users) {
+            lastWritten.put(user.getId(), user);
+            // 쓰는 동안 새 값이 들어왔으면 남겨 두고 다시 예약
+            if (!pending.remove(user.getId(), user) && !queue.offer(user.getId())) {
+                flush(List.of(user.getId()));
+            }
+        }
+    }
+
+    // upsert 문법은 DB 마다 달라서 지원하는 DB 만 허용 (다른 DB 로 옮기면 로그인 반영이 조용히 실패하지 않고 시작 시 실패)
+    static String upsertSql(String databaseProductName) {
+        return switch (databaseProductName) {
+            case "H2" -> "MERGE INTO " + COLUMNS + " KEY (id) " + VALUES;
+            case "PostgreSQL" -> "INSERT INTO " + COLUMNS + " " + VALUES + " ON CONFLICT (id) DO UPDATE SET "
+                    + "provider = EXCLUDED.provider, nickname = EXCLUDED.nickname, email = EXCLUDED.email, "
+                    + "profile_image_url = EXCLUDED.profile_image_url, profile_version = EXCLUDED.profile_version";
+            case "MySQL", "MariaDB" -> "INSERT INTO " + COLUMNS + " " + VALUES + " ON DUPLICATE KEY UPDATE "
+                    + "provider = VALUES(provider), nickname = VALUES(nickname), email = VALUES(email), "
+                    + "profile_image_url = VALUES(profile_image_url), profile_version = VALUES(profile_version)";
+            default -> throw new IllegalStateException(
+                    "user write-behind 가 지원하지 않는 DB 입니다 (H2, PostgreSQL, MySQL, MariaDB): " + databaseProductName);
+        };
+    }
+
+    private static String databaseProductName(JdbcTemplate jdbcTemplate) {
+        try {
+            return JdbcUtils.extractDatabaseMetaData(jdbcTemplate.getDataSource(),
+                    DatabaseMetaData::getDatabaseProductName);
+        } catch (MetaDataAccessException e) {
+            throw new IllegalStateException("DB 종류를 확인할 수 없습니다.", e);
+        }
+    }
+
+    // 종료 시 대기 중인 변경을 모두 반영 (writer 스레드가 마지막으로 비우고 끝남)
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        // 진행 중인 batch 와 마지막 반영이 끝날 때까지 대기 (poll/재시도 대기는 running 을 확인)
+        writer.join(TimeUnit.SECONDS.toMillis(10));
+        if (writer.isAlive()) {
+            log.warn("user write-behind 종료 대기 시간을 넘었습니다. 반영되지 않은 변경 {}건", pending.size());
+        }
+    }
+}
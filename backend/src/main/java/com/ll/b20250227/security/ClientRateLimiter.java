@@ -0,0 +1,46 @@
+package com.ll.b20250227.security;
+
+import org.springframework.stereotype.Component;
+
+// 정책별 토큰 버킷 모음 (RateLimitFilter 가 사용, 메트릭은 AuthMeterBinders 에서 수집)
+@Component
+public class ClientRateLimiter {
+
+    private final boolean enabled;
+    private final TokenBucketLimiter refreshPerIp;
+    private final TokenBucketLimiter refreshPerSubject;
+    private final TokenBucketLimiter loginPerIp;
+    private final TokenBucketLimiter imagePerIp;
+
+    public ClientRateLimiter(RateLimitProperties properties) {
+        this.enabled = properties.enabled();
+        this.refreshPerIp = new TokenBucketLimiter("refresh_ip", properties.refreshPerIp(), properties.maxKeys());
+        this.refreshPerSubject = new TokenBucketLimiter("refresh_subject", properties.refreshPerSubject(), properties.maxKeys());
+        this.loginPerIp = new TokenBucketLimiter("login_ip", properties.loginPerIp(), properties.maxKeys());
+        this.imagePerIp = new TokenBucketLimiter("image_ip", properties.imagePerIp(), properties.maxKeys());
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public TokenBucketLimiter refreshPerIp() {
+        return refreshPerIp;
+    }
+
+    public TokenBucketLimiter refreshPerSubject() {
+        return refreshPerSubject;
+    }
+
+    public TokenBucketLimiter loginPerIp() {
+        return loginPerIp;
+    }
+
+    public TokenBucketLimiter imagePerIp() {
+        return imagePerIp;
+    }
+
+    public TokenBucketLimiter[] all() {
+        return new TokenBucketLimiter[]{refreshPerIp, refreshPerSubject, loginPerIp, imagePerIp};
+    }
+}
@@ -0,0 +1,30 @@
+package com.ll.b20250227.security;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.boot.web.context.WebServerInitializedEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+import org.springframework.stereotype.Component;
+
+// 관리 포트(management.server.port)로 들어온 요청
+// 관리 서버가 뜰 때 실제 포트를 기록하므로 port=0(임의 포트)도 동작, 관리 포트를 따로 두지 않으면 아무것도 맞지 않음
+@Component
+public class ManagementPortRequestMatcher implements RequestMatcher, ApplicationListener<WebServerInitializedEvent> {
+
+    private static final String MANAGEMENT_NAMESPACE = "management";
+
+    private volatile int port = -1;
+
+    @Override
+    public void onApplicationEvent(WebServerInitializedEvent event) {
+        if (MANAGEMENT_NAMESPACE.equals(event.getApplicationContext().getServerNamespace())) {
+            port = event.getWebServer().getPort();
+        }
+    }
+
+    @Override
+    public boolean matches(HttpServletRequest request) {
+        int managementPort = port;
+        return managementPort > 0 && request.getLocalPort() == managementPort;
+    }
+}
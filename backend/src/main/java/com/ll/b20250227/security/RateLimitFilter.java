@@ -0,0 +1,97 @@
+package com.ll.b20250227.security;
+
+import com.ll.b20250227.jwt.JwtProvider;
+import com.ll.b20250227.jwt.TokenParseResult;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+// 인증 없이 열려 있는 /api/refresh, OAuth2 로그인 경로, 사용자 프로필 이미지 경로의 요청 제한
+// 서명 검증이나 카카오 호출 전에 거르도록 OAuth2 필터와 JwtAuthenticationFilter 보다 앞에 둠 (SecurityConfig)
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    // 여기서 검증한 refresh token 결과를 AuthController 가 다시 파싱하지 않고 사용
+    public static final String REFRESH_TOKEN_ATTRIBUTE = RateLimitFilter.class.getName() + ".refreshToken";
+
+    private static final String REFRESH_PATH = "/api/refresh";
+    private static final String AUTHORIZATION_PATH = "/oauth2/authorization/";
+    private static final String CALLBACK_PATH = "/login/oauth2/code/";
+    // 변환된 이미지 파일(/images/{hash}-...)은 디스크에서 바로 주므로 제한하지 않음
+    private static final String USER_IMAGE_PATH = "/images/users/";
+
+    private final ClientRateLimiter rateLimiter;
+    private final JwtProvider jwtProvider;
+
+    public RateLimitFilter(ClientRateLimiter rateLimiter, JwtProvider jwtProvider) {
+        this.rateLimiter = rateLimiter;
+        this.jwtProvider = jwtProvider;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!rateLimiter.isEnabled()) {
+            return true;
+        }
+        String path = path(request);
+        return !path.equals(REFRESH_PATH) && !path.startsWith(AUTHORIZATION_PATH) && !path.startsWith(CALLBACK_PATH)
+                && !path.startsWith(USER_IMAGE_PATH);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        // 프록시 뒤에서는 server.forward-headers-strategy 로 실제 클라이언트 IP 를 받도록 설정
+        String clientIp = request.getRemoteAddr();
+        String path = path(request);
+        long wait;
+        if (path.equals(REFRESH_PATH)) {
+            wait = rateLimiter.refreshPerIp().tryAcquire(clientIp);
+            if (wait == 0) {
+                wait = acquireForSubject(request);
+            }
+        } else if (path.startsWith(USER_IMAGE_PATH)) {
+            wait = rateLimiter.imagePerIp().tryAcquire(clientIp);
+        } else {
+            wait = rateLimiter.loginPerIp().tryAcquire(clientIp);
+        }
+        if (wait > 0) {
+            reject(response, wait);
+            return;
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    // context path 를 뺀 요청 경로 (서블릿 매핑과 무관하게 동작하도록 servletPath 대신 사용)
+    private static String path(HttpServletRequest request) {
+        return request.getRequestURI().substring(request.getContextPath().length());
+    }
+
+    // 서명이 확인된 토큰의 subject 로만 제한 (위조한 subject 로 다른 사용자의 버킷을 비울 수 없도록)
+    private long acquireForSubject(HttpServletRequest request) {
+        String refreshToken = request.getHeader("Refresh-Token");
+        if (refreshToken == null) {
+            return 0;
+        }
+        TokenParseResult result = jwtProvider.parse(refreshToken);
+        request.setAttribute(REFRESH_TOKEN_ATTRIBUTE, result);
+        if (!result.isValid()) {
+            return 0;
+        }
+        return rateLimiter.refreshPerSubject().tryAcquire(result.token().subject());
+    }
+
+    private static void reject(HttpServletResponse response, long waitNanos) throws IOException {
+        long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999));
+        response.setStatus(429);
+        response.setHeader("Retry-After", String.valueOf(retryAfterSeconds));
+        response.setContentType("text/plain;charset=UTF-8");
+        response.getOutputStream().write("요청이 너무 많습니다. 잠시 후 다시 시도해 주세요.".getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,34 @@
+package com.ll.b20250227.security;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+// /api/refresh, OAuth2 로그인 진입점 요청 제한 설정 (rate-limit.*)
+@ConfigurationProperties(prefix = "rate-limit")
+public record RateLimitProperties(
+        @DefaultValue("true") boolean enabled,
+        // 클라이언트 IP 별 /api/refresh
+        Policy refreshPerIp,
+        // refresh token subject(사용자) 별 /api/refresh, access token 이 5초라 정상 클라이언트도 분당 12회 정도 호출
+        Policy refreshPerSubject,
+        // 클라이언트 IP 별 /oauth2/authorization/**, /login/oauth2/code/** (카카오 호출이 일어나는 경로)
+        Policy loginPerIp,
+        // 클라이언트 IP 별 /images/users/** (인증 없이 DB 조회와 이미지 내려받기가 일어나는 경로)
+        Policy imagePerIp,
+        // 정책별로 기억하는 최대 키 수 (넘으면 새 키는 공용 overflow 버킷 하나로 제한)
+        @DefaultValue("100000") int maxKeys
+) {
+
+    public RateLimitProperties {
+        refreshPerIp = refreshPerIp != null ? refreshPerIp : new Policy(60, Duration.ofMinutes(1), 20);
+        refreshPerSubject = refreshPerSubject != null ? refreshPerSubject : new Policy(30, Duration.ofMinutes(1), 10);
+        loginPerIp = loginPerIp != null ? loginPerIp : new Policy(20, Duration.ofMinutes(1), 10);
+        imagePerIp = imagePerIp != null ? imagePerIp : new Policy(300, Duration.ofMinutes(1), 100);
+    }
+
+    // period 동안 limit 개 요청, 한 번에 최대 burst 개까지 몰아서 허용
+    public record Policy(long limit, Duration period, int burst) {
+    }
+}
@@ -1,40 +1,80 @@
 package com.ll.b20250227.security;
 
+import com.ll.b20250227.audit.AuditLog;
 import com.ll.b20250227.jwt.JwtAuthenticationFilter;
 import com.ll.b20250227.jwt.JwtProvider;
+import com.ll.b20250227.jwt.TokenRevocationStore;
+import com.ll.b20250227.jwt.VerifiedTokenCache;
+import com.ll.b20250227.metrics.AuthMetrics;
+import com.ll.b20250227.oauth.CookieAuthorizationRequestRepository;
 import com.ll.b20250227.oauth.CustomOAuth2UserService;
 import com.ll.b20250227.oauth.OAuth2LoginSuccessHandler;
+import jakarta.servlet.DispatcherType;
 import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.oauth2.client.endpoint.OAuth2AccessTokenResponseClient;
+import org.springframework.security.oauth2.client.endpoint.OAuth2AuthorizationCodeGrantRequest;
 import org.springframework.security.oauth2.client.registration.ClientRegistrationRepository;
 import org.springframework.security.oauth2.client.web.DefaultOAuth2AuthorizationRequestResolver;
+import org.springframework.security.oauth2.client.web.OAuth2AuthorizationRequestRedirectFilter;
 import org.springframework.security.oauth2.client.web.OAuth2AuthorizationRequestResolver;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
+import org.springframework.security.web.authentication.SimpleUrlAuthenticationFailureHandler;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.util.matcher.AndRequestMatcher;
+import org.springframework.security.web.util.matcher.DispatcherTypeRequestMatcher;
+import org.springframework.security.web.util.matcher.OrRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
 import java.util.List;
+import java.util.Set;
+
+import static org.springframework.security.web.util.matcher.AntPathRequestMatcher.antMatcher;
 
 @Configuration
 public class SecurityConfig {
 
     private final JwtProvider jwtProvider;
+    private final ObjectProvider<VerifiedTokenCache> verifiedTokenCache;
+    private final TokenRevocationStore revocationStore;
+    private final AuthMetrics authMetrics;
+    private final ClientRateLimiter rateLimiter;
+    private final AuditLog auditLog;
 
-    public SecurityConfig(JwtProvider jwtProvider) {
+    public SecurityConfig(JwtProvider jwtProvider, ObjectProvider<VerifiedTokenCache> verifiedTokenCache,
+                          TokenRevocationStore revocationStore, AuthMetrics authMetrics,
+                          ClientRateLimiter rateLimiter, AuditLog auditLog) {
         this.jwtProvider = jwtProvider;
+        this.verifiedTokenCache = verifiedTokenCache;
+        this.revocationStore = revocationStore;
+        this.authMetrics = authMetrics;
+        this.rateLimiter = rateLimiter;
+        this.auditLog = auditLog;
     }
 
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http,
                                                    CustomOAuth2UserService customOAuth2UserService,
                                                    OAuth2AuthorizationRequestResolver authorizationRequestResolver,
-                                                   OAuth2LoginSuccessHandler oAuthLoginSuccessHandler) throws Exception {
+                                                   CookieAuthorizationRequestRepository authorizationRequestRepository,
+                                                   OAuth2LoginSuccessHandler oAuthLoginSuccessHandler,
+                                                   OAuth2AccessTokenResponseClient<OAuth2AuthorizationCodeGrantRequest> kakaoAccessTokenResponseClient,
+                                                   ManagementPortRequestMatcher managementPort,
+                                                   @Value("${admin.user-ids:}") Set<String> adminUserIds) throws Exception {
         http
                 .csrf(AbstractHttpConfigurer::disable)
                 .cors(cors -> cors.configurationSource(corsConfigurationSource()))
@@ -45,8 +85,22 @@ public class SecurityConfig {
                 // 세션을 사용하지 않고 stateless하게 만듭니다.
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(auth -> auth
+                        // 스트리밍 응답의 async dispatch 는 처음 요청에서 이미 인가됨 (stateless 라 다시 인증할 수 없음)
+                        // 스트리밍하는 관리 API 경로에만 허용, 그 외 async dispatch 는 아래 규칙을 그대로 따름
+                        .requestMatchers(streamingAsyncDispatch()).permitAll()
                         .requestMatchers("/", "/login", "/css/**", "/js/**", "/oauth2/authorization/**", "/h2-console/**", "/api/refresh").permitAll()
+                        .requestMatchers("/.well-known/jwks.json").permitAll()
+                        // 프로필 이미지 프록시 (<img> 요청에는 Authorization 헤더가 없음)
+                        .requestMatchers("/images/**").permitAll()
+                        // 헬스체크만 공개, 메트릭(/actuator/prometheus, /actuator/metrics)은 외부에 열지 않는 관리 포트로만
+                        .requestMatchers("/actuator/health").permitAll()
+                        .requestMatchers(managementPort).permitAll()
+                        .requestMatchers("/actuator/**").denyAll()
                         .requestMatchers("/api/logout").permitAll()
+                        // 내부 서비스용 토큰 확인은 X-Introspection-Key 로 컨트롤러에서 확인
+                        .requestMatchers("/api/introspect").permitAll()
+                        // 관리 API 는 설정된 사용자(카카오 ID)만
+                        .requestMatchers("/api/admin/**").access(adminOnly(adminUserIds))
                         .requestMatchers("/api/**").authenticated()
                         .anyRequest().authenticated()
                 )
@@ -58,25 +112,58 @@ public class SecurityConfig {
                 .oauth2Login(oauth2 -> oauth2
                         .loginPage("/login")
                         .successHandler(oAuthLoginSuccessHandler)
-                        .failureUrl("http://localhost:3000/?error=true")
-                        .authorizationEndpoint(endpoint ->
-                                endpoint.authorizationRequestResolver(authorizationRequestResolver)
+                        .failureHandler(loginFailureHandler())
+                        // 인가 요청은 세션 대신 암호화 쿠키에 저장: 콜백을 어느 노드가 받아도 처리 가능 (sticky session 불필요)
+                        .authorizationEndpoint(endpoint -> endpoint
+                                .authorizationRequestResolver(authorizationRequestResolver)
+                                .authorizationRequestRepository(authorizationRequestRepository)
                         )
+                        // 토큰 교환도 사용자 정보 조회와 같은 커넥션 풀 사용
+                        .tokenEndpoint(token -> token.accessTokenResponseClient(kakaoAccessTokenResponseClient))
                         .userInfoEndpoint(userInfo -> userInfo.userService(customOAuth2UserService))
                 )
+                // 세션을 만들지 않으므로 무효화할 세션이나 지울 JSESSIONID 쿠키가 없음
                 .logout(logout -> logout
                         .logoutSuccessUrl("http://localhost:3000/?logout=true")
-                        .invalidateHttpSession(true)
                         .clearAuthentication(true)
-                        .deleteCookies("JSESSIONID")
                 );
 
         // JWT 인증 필터 추가 (UsernamePasswordAuthenticationFilter 전에 등록)
-        http.addFilterBefore(new JwtAuthenticationFilter(jwtProvider), UsernamePasswordAuthenticationFilter.class);
+        // jwt.cache.enabled=false 이면 캐시 없이 매번 검증
+        http.addFilterBefore(new JwtAuthenticationFilter(jwtProvider, verifiedTokenCache.getIfAvailable(),
+                        revocationStore, authMetrics, auditLog),
+                UsernamePasswordAuthenticationFilter.class);
+        // 요청 제한은 OAuth2 로그인 필터(카카오 호출)와 JWT 필터(서명 검증)보다 먼저
+        http.addFilterBefore(new RateLimitFilter(rateLimiter, jwtProvider),
+                OAuth2AuthorizationRequestRedirectFilter.class);
 
         return http.build();
     }
 
+    private static AuthorizationManager<RequestAuthorizationContext> adminOnly(Set<String> adminUserIds) {
+        return (authentication, context) -> {
+            Authentication auth = authentication.get();
+            return new AuthorizationDecision(auth != null
+                    && !(auth instanceof AnonymousAuthenticationToken)
+                    && adminUserIds.contains(auth.getName()));
+        };
+    }
+
+    // 기본 실패 핸들러는 예외를 보관하려고 세션을 만들기 때문에 세션 생성을 막음 (프론트는 error 파라미터만 봄)
+    private static SimpleUrlAuthenticationFailureHandler loginFailureHandler() {
+        SimpleUrlAuthenticationFailureHandler failureHandler =
+                new SimpleUrlAuthenticationFailureHandler("http://localhost:3000/?error=true");
+        failureHandler.setAllowSessionCreation(false);
+        return failureHandler;
+    }
+
+    // StreamingResponseBody 로 응답하는 경로의 ASYNC dispatch (처음 REQUEST dispatch 에서 adminOnly 를 통과해야 시작됨)
+    private static RequestMatcher streamingAsyncDispatch() {
+        return new AndRequestMatcher(
+                new DispatcherTypeRequestMatcher(DispatcherType.ASYNC),
+                new OrRequestMatcher(antMatcher("/api/admin/users/export"), antMatcher("/api/admin/audit")));
+    }
+
     @Bean
     CorsConfigurationSource corsConfigurationSource() {
         CorsConfiguration configuration = new CorsConfiguration();
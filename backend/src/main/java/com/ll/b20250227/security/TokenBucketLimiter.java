@@ -0,0 +1,88 @@
+package com.ll.b20250227.security;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+// 키별 토큰 버킷 (GCRA 방식: 버킷 상태를 "다음 토큰이 다 차는 시각" long 하나로 표현)
+// 요청마다 AtomicLong CAS 한 번으로 판단하므로 락이 없음
+// 키가 maxKeys 만큼 차 있으면 새 키는 공용 overflow 버킷 하나를 같이 씀 (주소를 바꿔 가며 보내도 제한이 풀리지 않음)
+public final class TokenBucketLimiter {
+
+    private final String name;
+    // 토큰 하나가 다시 차는 간격
+    private final long emissionNanos;
+    // burst 만큼 몰아서 허용하는 여유
+    private final long toleranceNanos;
+    private final int maxKeys;
+    private final ConcurrentHashMap<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+    // 키 상한을 넘은 새 키들이 나눠 쓰는 버킷 (키 하나와 같은 정책)
+    private final AtomicLong overflow = new AtomicLong(System.nanoTime());
+    private final AtomicLong nextSweep;
+    private final LongAdder rejected = new LongAdder();
+
+    public TokenBucketLimiter(String name, RateLimitProperties.Policy policy, int maxKeys) {
+        if (policy.limit() <= 0 || policy.burst() <= 0) {
+            throw new IllegalArgumentException("rate-limit." + name + " 의 limit/burst 는 1 이상이어야 합니다.");
+        }
+        this.name = name;
+        this.emissionNanos = Math.max(1, policy.period().toNanos() / policy.limit());
+        this.toleranceNanos = emissionNanos * (policy.burst() - 1);
+        this.maxKeys = maxKeys;
+        this.nextSweep = new AtomicLong(System.nanoTime() + sweepInterval());
+    }
+
+    public String name() {
+        return name;
+    }
+
+    // 허용이면 0, 거부면 다시 시도할 수 있을 때까지 남은 시간(ns)
+    public long tryAcquire(String key) {
+        long now = System.nanoTime();
+        AtomicLong bucket = buckets.get(key);
+        if (bucket == null) {
+            // 정리는 아래 주기적인 sweep 에서만 (요청마다 전체를 훑지 않음)
+            // 동시에 들어온 새 키 몇 개만큼 상한을 넘을 수 있지만 그 이상 늘지는 않음
+            bucket = buckets.size() >= maxKeys
+                    ? overflow
+                    // 새 버킷은 가득 찬 상태(= now)에서 시작
+                    : buckets.computeIfAbsent(key, k -> new AtomicLong(now));
+        }
+        while (true) {
+            long theoreticalArrival = bucket.get();
+            long base = theoreticalArrival - now > 0 ? theoreticalArrival : now;
+            long wait = base - now - toleranceNanos;
+            if (wait > 0) {
+                rejected.increment();
+                return wait;
+            }
+            if (bucket.compareAndSet(theoreticalArrival, base + emissionNanos)) {
+                break;
+            }
+        }
+        long sweepAt = nextSweep.get();
+        if (now - sweepAt >= 0 && nextSweep.compareAndSet(sweepAt, now + sweepInterval())) {
+            sweep(now);
+        }
+        return 0;
+    }
+
+    // 다시 가득 찬 버킷은 새로 만든 버킷과 같으므로 지워도 결과가 달라지지 않음
+    // (제거와 동시에 들어온 요청 하나가 기록되지 않을 수 있는데, 그만큼 느슨해질 뿐이라 허용)
+    private void sweep(long now) {
+        buckets.values().removeIf(bucket -> bucket.get() - now <= 0);
+    }
+
+    // 버킷 하나가 비었다가 다시 가득 차는 시간마다 한 번 정리
+    private long sweepInterval() {
+        return emissionNanos + toleranceNanos;
+    }
+
+    public int size() {
+        return buckets.size();
+    }
+
+    public long rejectedCount() {
+        return rejected.sum();
+    }
+}
@@ -0,0 +1,149 @@
+package com.ll.b20250227.audit;
+
+import com.ll.b20250227.jwt.TokenFailure;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AuditLogTests {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void concurrentProducersLoseNothingWhileConsumerKeepsUp() throws Exception {
+        AuditRingBuffer buffer = new AuditRingBuffer(1000);
+        assertThat(buffer.capacity()).isEqualTo(1024);
+        int producers = 4;
+        int perProducer = 100_000;
+        long[] lastSeen = new long[producers];
+        Arrays.fill(lastSeen, -1);
+        int[] outOfOrder = {0};
+
+        List<Future<?>> results = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(producers)) {
+            for (int p = 0; p < producers; p++) {
+                int producer = p;
+                results.add(executor.submit(() -> {
+                    for (int i = 0; i < perProducer; i++) {
+                        while (!buffer.tryPublish(i, AuditEventType.LOGIN, AuditReason.NONE, producer, null)) {
+                            // 코어가 적은 환경에서도 소비자가 돌 수 있도록 양보
+                            Thread.yield();
+                        }
+                    }
+                }));
+            }
+            long received = 0;
+            while (received < (long) producers * perProducer) {
+                received += buffer.drain((timestamp, type, reason, subject, address) -> {
+                    // 같은 생산자의 이벤트는 발행 순서대로 한 번씩
+                    if (timestamp != lastSeen[(int) subject] + 1) {
+                        outOfOrder[0]++;
+                    }
+                    lastSeen[(int) subject] = timestamp;
+                }, 256);
+            }
+            for (Future<?> result : results) {
+                result.get();
+            }
+        }
+        assertThat(outOfOrder[0]).isZero();
+        assertThat(lastSeen).containsOnly(perProducer - 1);
+        assertThat(buffer.size()).isZero();
+    }
+
+    @Test
+    void fullBufferDropsInsteadOfBlocking() throws Exception {
+        AuditRingBuffer buffer = new AuditRingBuffer(4);
+        for (int i = 0; i < 4; i++) {
+            assertThat(buffer.tryPublish(i, AuditEventType.LOGIN, AuditReason.NONE, 1, null)).isTrue();
+        }
+        assertThat(buffer.tryPublish(4, AuditEventType.LOGIN, AuditReason.NONE, 1, null)).isFalse();
+        assertThat(buffer.drain((timestamp, type, reason, subject, address) -> {
+        }, 10)).isEqualTo(4);
+        assertThat(buffer.tryPublish(4, AuditEventType.LOGIN, AuditReason.NONE, 1, null)).isTrue();
+
+        // 소비자보다 빠르게 발행하면 일부는 버려지지만, 기록된 것과 버려진 것의 합은 발행한 수와 같음
+        AuditLog auditLog = new AuditLog(properties(true, 2, DataSize.ofMegabytes(1), 10));
+        for (int i = 0; i < 100_000; i++) {
+            auditLog.login(i + 1, "127.0.0.1");
+        }
+        auditLog.shutdown();
+        assertThat(auditLog.droppedCount()).isPositive();
+        assertThat(auditLog.writtenCount() + auditLog.droppedCount()).isEqualTo(100_000);
+        assertThat(auditLog.lostCount()).isZero();
+    }
+
+    @Test
+    void segmentsRotateAndQueriesSkipTornTail() throws Exception {
+        // 세그먼트 하나에 레코드 10개
+        DataSize segmentSize = DataSize.ofBytes(AuditSegmentWriter.HEADER_SIZE + 10L * AuditSegmentWriter.RECORD_SIZE);
+        AuditLog auditLog = new AuditLog(properties(true, 1024, segmentSize, 3));
+        Instant before = Instant.now();
+        for (int i = 0; i < 25; i++) {
+            auditLog.refresh(String.valueOf(3_000_000_000L + i % 5), "203.0.113." + i);
+        }
+        auditLog.tokenRejected(TokenFailure.EXPIRED, "2001:db8::1");
+        auditLog.refreshRejected(AuditReason.REVOKED, "3000000001", null);
+        auditLog.shutdown();
+        assertThat(auditLog.writtenCount()).isEqualTo(27);
+
+        // 27건 -> 세그먼트 3개
+        List<Path> segments = AuditSegmentReader.listSegments(dir);
+        assertThat(segments).hasSize(3);
+        // 비정상 종료로 마지막 레코드가 잘린 경우
+        Files.write(segments.get(2), new byte[17], StandardOpenOption.APPEND);
+
+        AuditSegmentReader reader = new AuditSegmentReader(dir);
+        List<AuditRecord> all = query(reader, AuditQuery.all());
+        assertThat(all).hasSize(27);
+        assertThat(all.get(0).address()).isEqualTo("203.0.113.0");
+        assertThat(all.get(25)).satisfies(record -> {
+            assertThat(record.type()).isEqualTo(AuditEventType.TOKEN_REJECTED);
+            assertThat(record.reason()).isEqualTo(AuditReason.EXPIRED);
+            assertThat(record.subject()).isNull();
+            assertThat(record.address()).isEqualTo("2001:db8:0:0:0:0:0:1");
+        });
+
+        List<AuditRecord> revoked = query(reader, new AuditQuery(before, null, AuditEventType.REFRESH_REJECTED, 3_000_000_001L));
+        assertThat(revoked).singleElement().satisfies(record -> {
+            assertThat(record.reason()).isEqualTo(AuditReason.REVOKED);
+            assertThat(record.address()).isNull();
+        });
+        assertThat(query(reader, new AuditQuery(null, null, AuditEventType.REFRESH, 3_000_000_002L))).hasSize(5);
+        assertThat(query(reader, new AuditQuery(null, before, null, null))).isEmpty();
+
+        // 새로 시작하면 새 세그먼트에 쓰고, max-segments 를 넘는 오래된 세그먼트는 삭제
+        AuditLog restarted = new AuditLog(properties(true, 1024, segmentSize, 3));
+        restarted.login(3_000_000_009L, "198.51.100.7");
+        restarted.shutdown();
+        assertThat(AuditSegmentReader.listSegments(dir)).hasSize(3).doesNotContain(segments.get(0));
+        assertThat(query(reader, new AuditQuery(null, null, AuditEventType.LOGIN, null))).hasSize(1);
+    }
+
+    private AuditProperties properties(boolean enabled, int bufferSize, DataSize segmentSize, int maxSegments) {
+        return new AuditProperties(enabled, dir, bufferSize, AuditProperties.Backpressure.DROP, 0,
+                segmentSize, Duration.ofHours(1), maxSegments);
+    }
+
+    private static List<AuditRecord> query(AuditSegmentReader reader, AuditQuery query) throws IOException {
+        List<AuditRecord> records = new ArrayList<>();
+        reader.query(query, records::add);
+        return records;
+    }
+}
@@ -0,0 +1,86 @@
+package com.ll.b20250227.controller;
+
+import com.ll.b20250227.entity.User;
+import com.ll.b20250227.jwt.JwtProvider;
+import com.ll.b20250227.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "admin.user-ids=" + AdminUserControllerTests.ADMIN_ID)
+@AutoConfigureMockMvc
+class AdminUserControllerTests {
+
+    static final String ADMIN_ID = "3900000100";
+    // 다른 테스트가 쓰는 id 보다 큰 범위 (after 로 이 범위만 내보냄)
+    private static final long BASE_ID = 9_000_000_000_000L;
+    private static final int PAGE = AdminUserController.EXPORT_PAGE_SIZE;
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private JwtProvider jwtProvider;
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void exportCrossesPageBoundariesWithoutGapsOrDuplicates() throws Exception {
+        // 정확히 한 페이지: 다음 (빈) 페이지까지 읽고 끝남
+        saveUsers(BASE_ID + 1, PAGE);
+        assertThat(export(BASE_ID)).containsExactlyElementsOf(range(BASE_ID + 1, PAGE));
+
+        // 두 페이지 + 1: 페이지 경계의 id 가 빠지거나 두 번 나오지 않음
+        saveUsers(BASE_ID + PAGE + 1, PAGE + 1);
+        assertThat(export(BASE_ID)).containsExactlyElementsOf(range(BASE_ID + 1, 2 * PAGE + 1));
+
+        // 끊긴 뒤 마지막으로 받은 id 부터 이어받기
+        assertThat(export(BASE_ID + PAGE)).containsExactlyElementsOf(range(BASE_ID + PAGE + 1, PAGE + 1));
+        assertThat(export(BASE_ID + 2 * PAGE + 1)).isEmpty();
+    }
+
+    @Test
+    void exportIsOnlyForAdmins() throws Exception {
+        mockMvc.perform(get("/api/admin/users/export")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + jwtProvider.createAccessToken("3900000101")))
+                .andExpect(status().isForbidden());
+    }
+
+    private List<Long> export(long after) throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/admin/users/export").param("after", String.valueOf(after))
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + jwtProvider.createAccessToken(ADMIN_ID)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return Arrays.stream(body.split("\n"))
+                .filter(line -> !line.isEmpty())
+                // {"id":...,  로 시작하는 한 줄에서 id 만
+                .map(line -> Long.valueOf(line.substring(line.indexOf(':') + 1, line.indexOf(','))))
+                .toList();
+    }
+
+    private void saveUsers(long firstId, int count) {
+        userRepository.saveAll(range(firstId, count).stream()
+                .map(id -> User.builder().id(id).provider("kakao").nickname("user" + id).profileVersion(1L).build())
+                .toList());
+    }
+
+    private static List<Long> range(long firstId, int count) {
+        return LongStream.range(firstId, firstId + count).boxed().toList();
+    }
+}
@@ -0,0 +1,78 @@
+package com.ll.b20250227.controller;
+
+import com.ll.b20250227.cache.UserProfileCache;
+import com.ll.b20250227.entity.User;
+import com.ll.b20250227.jwt.JwtProvider;
+import com.ll.b20250227.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class UserControllerTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private JwtProvider jwtProvider;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private UserProfileCache userProfileCache;
+
+    @Test
+    void userInfoIsRevalidatedWithETag() throws Exception {
+        long userId = 3_900_000_001L;
+        userRepository.save(User.builder().id(userId).provider("kakao").nickname("라이언")
+                .email("ryan@example.com").profileVersion(1L).build());
+        String authorization = "Bearer " + jwtProvider.createAccessToken(String.valueOf(userId));
+
+        MvcResult first = mockMvc.perform(get("/api/user").header(HttpHeaders.AUTHORIZATION, authorization))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache, private"))
+                .andExpect(jsonPath("$.nickname").value("라이언"))
+                .andReturn();
+        String etag = first.getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(etag).startsWith("\"").endsWith("\"");
+        // 캐시된 직렬화 바이트를 그대로 응답
+        assertThat(first.getResponse().getContentAsByteArray()).isEqualTo(userProfileCache.get(userId).body());
+
+        // 같은 ETag 면 본문 없이 304
+        mockMvc.perform(get("/api/user").header(HttpHeaders.AUTHORIZATION, authorization)
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                .andExpect(content().bytes(new byte[0]));
+
+        // 프로필이 바뀌어 무효화되면 새 ETag 로 200
+        userRepository.save(User.builder().id(userId).provider("kakao").nickname("춘식")
+                .email("ryan@example.com").profileVersion(2L).build());
+        userProfileCache.invalidate(userId);
+        mockMvc.perform(get("/api/user").header(HttpHeaders.AUTHORIZATION, authorization)
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.nickname").value("춘식"))
+                .andExpect(result -> assertThat(result.getResponse().getHeader(HttpHeaders.ETAG)).isNotEqualTo(etag));
+    }
+
+    @Test
+    void missingUserIsNotFound() throws Exception {
+        String authorization = "Bearer " + jwtProvider.createAccessToken("3900000099");
+
+        mockMvc.perform(get("/api/user").header(HttpHeaders.AUTHORIZATION, authorization))
+                .andExpect(status().isNotFound());
+        assertThat(userProfileCache.get(3_900_000_099L)).isNull();
+    }
+}
@@ -0,0 +1,95 @@
+package com.ll.b20250227.controller;
+
+import com.ll.b20250227.entity.User;
+import com.ll.b20250227.jwt.JwtProvider;
+import com.ll.b20250227.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class UserLookupControllerTests {
+
+    private static final long FIRST_ID = 3_900_000_201L;
+    private static final long SECOND_ID = 3_900_000_202L;
+    private static final long MISSING_ID = 3_900_000_299L;
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private JwtProvider jwtProvider;
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void duplicateIdsAreLookedUpOnceAndKeepRequestOrder() throws Exception {
+        userRepository.save(User.builder().id(FIRST_ID).provider("kakao").nickname("라이언").profileVersion(1L).build());
+        userRepository.save(User.builder().id(SECOND_ID).provider("kakao").nickname("춘식").profileVersion(1L).build());
+
+        mockMvc.perform(get("/api/users")
+                        .param("ids", SECOND_ID + "," + MISSING_ID + "," + FIRST_ID + "," + SECOND_ID + "," + MISSING_ID)
+                        .param("fields", "nickname")
+                        .header(HttpHeaders.AUTHORIZATION, authorization()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.users[*].id").value(contains(SECOND_ID, FIRST_ID)))
+                .andExpect(jsonPath("$.users[*].nickname").value(contains("춘식", "라이언")))
+                .andExpect(jsonPath("$.users[0].profileImageUrl").doesNotExist())
+                .andExpect(jsonPath("$.missing").value(contains(MISSING_ID)));
+    }
+
+    @Test
+    void maxIdsCountsDistinctIds() throws Exception {
+        // 중복을 빼면 100개: 허용
+        String hundredWithDuplicates = ids(100) + "," + ids(50);
+        mockMvc.perform(get("/api/users").param("ids", hundredWithDuplicates)
+                        .header(HttpHeaders.AUTHORIZATION, authorization()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.missing", hasSize(100)));
+
+        // 101개: 조회하지 않고 400
+        mockMvc.perform(get("/api/users").param("ids", ids(101))
+                        .header(HttpHeaders.AUTHORIZATION, authorization()))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string("한 번에 조회할 수 있는 사용자는 최대 100명입니다."));
+    }
+
+    @Test
+    void unknownFieldIsRejected() throws Exception {
+        mockMvc.perform(get("/api/users").param("ids", String.valueOf(FIRST_ID)).param("fields", "email")
+                        .header(HttpHeaders.AUTHORIZATION, authorization()))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void emptyIdIsRejected() throws Exception {
+        mockMvc.perform(get("/api/users").param("ids", FIRST_ID + ",," + (FIRST_ID + 1))
+                        .header(HttpHeaders.AUTHORIZATION, authorization()))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string("ids 에 빈 값이 있습니다."));
+    }
+
+    private String authorization() {
+        return "Bearer " + jwtProvider.createAccessToken(String.valueOf(FIRST_ID));
+    }
+
+    // 어느 테스트에서도 저장하지 않는 id 범위
+    private static String ids(int count) {
+        return LongStream.range(0, count)
+                .mapToObj(i -> String.valueOf(3_910_000_000L + i))
+                .collect(Collectors.joining(","));
+    }
+}
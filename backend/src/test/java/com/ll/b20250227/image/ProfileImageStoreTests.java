@@ -0,0 +1,162 @@
+package com.ll.b20250227.image;
+
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ProfileImageStoreTests {
+
+    private static final String URL = "https://k.kakaocdn.net/dn/profile.jpg";
+
+    @TempDir
+    Path cacheDir;
+
+    private final AtomicInteger fetches = new AtomicInteger();
+    private volatile boolean broken;
+    // 실제 CDN 대신 800x600 이미지를 돌려주는 대역 (broken 이면 이미지가 아닌 내용)
+    private final ProfileImageFetcher stubFetcher = (uri, maxBytes) -> {
+        fetches.incrementAndGet();
+        return broken ? new byte[]{'<', 'h', 't', 'm', 'l', '>'} : jpeg(800, 600);
+    };
+
+    @Test
+    void fetchesOnceAndStoresSquareVariants() throws Exception {
+        ProfileImageStore store = store();
+
+        List<Future<ProfileImageStore.StoredImage>> results = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < 8; i++) {
+                results.add(executor.submit(() -> store.resolve(URL)));
+            }
+            for (Future<ProfileImageStore.StoredImage> result : results) {
+                assertThat(result.get()).isEqualTo(results.get(0).get());
+            }
+        }
+        assertThat(fetches).hasValue(1);
+
+        ProfileImageStore.StoredImage image = results.get(0).get();
+        BufferedImage small = ImageIO.read(store.variantFile(image.hash(), 64, image.extension()).toFile());
+        assertThat(small.getWidth()).isEqualTo(64);
+        assertThat(small.getHeight()).isEqualTo(64);
+
+        // 재시작해도 디스크의 매핑을 사용하고 다시 받지 않음
+        assertThat(store().resolve(URL)).isEqualTo(image);
+        assertThat(fetches).hasValue(1);
+
+        // URL 이 바뀌어 무효화되면 다음 요청에서 다시 받음
+        store.invalidate(URL);
+        store.resolve(URL);
+        assertThat(fetches).hasValue(2);
+    }
+
+    @Test
+    void rejectsHostsOutsideTheAllowList() {
+        assertThatThrownBy(() -> store().resolve("http://169.254.169.254/latest/meta-data"))
+                .isInstanceOf(ProfileImageStore.NotAllowedException.class);
+        assertThatThrownBy(() -> store().resolve("https://k.kakaocdn.net/dn/a b.jpg"))
+                .isInstanceOf(ProfileImageStore.NotAllowedException.class);
+        assertThat(fetches).hasValue(0);
+    }
+
+    @Test
+    void redirectsAreNotFollowed() throws Exception {
+        // 허용된 호스트(127.0.0.1)가 허용되지 않은 호스트(localhost)로 302
+        AtomicInteger internalHits = new AtomicInteger();
+        HttpServer internal = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        internal.createContext("/", exchange -> {
+            internalHits.incrementAndGet();
+            byte[] body = jpeg(10, 10);
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        HttpServer allowed = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        allowed.createContext("/", exchange -> {
+            exchange.getResponseHeaders().set("Location",
+                    "http://localhost:" + internal.getAddress().getPort() + "/latest/meta-data");
+            exchange.sendResponseHeaders(302, -1);
+            exchange.close();
+        });
+        internal.start();
+        allowed.start();
+        ImageProxyProperties properties = properties(List.of("127.0.0.1"));
+        HttpProfileImageFetcher fetcher = new HttpProfileImageFetcher(properties, new SimpleMeterRegistry());
+        try {
+            ProfileImageStore store = new ProfileImageStore(fetcher, properties);
+            String url = "http://127.0.0.1:" + allowed.getAddress().getPort() + "/dn/profile.jpg";
+
+            assertThatThrownBy(() -> store.resolve(url))
+                    .isInstanceOf(IOException.class)
+                    .isNotInstanceOf(ProfileImageStore.NotAllowedException.class);
+            assertThat(internalHits).hasValue(0);
+        } finally {
+            fetcher.shutdown();
+            allowed.stop(0);
+            internal.stop(0);
+        }
+    }
+
+    @Test
+    void failedSourcesAreNotFetchedAgainUntilFailureTtl() throws Exception {
+        ProfileImageStore store = store();
+        broken = true;
+
+        for (int i = 0; i < 5; i++) {
+            assertThatThrownBy(() -> store.resolve(URL))
+                    .isInstanceOf(IOException.class)
+                    .isNotInstanceOf(ProfileImageStore.NotAllowedException.class);
+        }
+        assertThat(fetches).hasValue(1);
+
+        // 사용자의 이미지 URL 이 바뀌어 무효화되면 바로 다시 시도
+        broken = false;
+        store.invalidate(URL);
+        assertThat(store.resolve(URL)).isNotNull();
+        assertThat(fetches).hasValue(2);
+    }
+
+    private ProfileImageStore store() throws IOException {
+        return new ProfileImageStore(stubFetcher, properties(List.of("kakaocdn.net")));
+    }
+
+    private ImageProxyProperties properties(List<String> allowedHosts) {
+        return new ImageProxyProperties(cacheDir, List.of(64, 128), allowedHosts, DataSize.ofMegabytes(5), 4096, 1000,
+                Duration.ofMinutes(1), 2, Duration.ofSeconds(1), Duration.ofSeconds(2), Duration.ofSeconds(1));
+    }
+
+    private static byte[] jpeg(int width, int height) {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = image.createGraphics();
+        graphics.setColor(Color.ORANGE);
+        graphics.fillRect(0, 0, width, height);
+        graphics.dispose();
+        try {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            ImageIO.write(image, "jpg", out);
+            return out.toByteArray();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.ll.b20250227.jwt;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jws;
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FastTokenSignerTests {
+
+    private final JwtKeyring keyring = JwtKeyring.generated();
+    private final JwtProvider jwtProvider = new JwtProvider(keyring);
+
+    @Test
+    void fastPathTokensAreAcceptedByJjwtParser() {
+        for (int i = 0; i < 1000; i++) {
+            String subject = String.valueOf(3_000_000_000L + i);
+            String token = jwtProvider.createToken(subject, JwtProvider.ACCESS_TYPE, 60_000);
+
+            Jws<Claims> jws = Jwts.parserBuilder()
+                    .setSigningKey(keyring.active().verificationKey())
+                    .build()
+                    .parseClaimsJws(token);
+            assertThat(jws.getHeader().getKeyId()).isEqualTo(keyring.active().kid());
+            assertThat(jws.getBody().getSubject()).isEqualTo(subject);
+            assertThat(jws.getBody().get("type", String.class)).isEqualTo(JwtProvider.ACCESS_TYPE);
+            assertThat(jws.getBody().getId()).hasSize(36);
+            assertThat(jws.getBody().getExpiration()).isAfter(jws.getBody().getIssuedAt());
+        }
+    }
+
+    @Test
+    void fastPathMatchesBuilderClaims() {
+        ParsedToken fast = jwtProvider.parse(jwtProvider.createToken("1234", JwtProvider.REFRESH_TYPE, 60_000)).token();
+        ParsedToken builder = jwtProvider.parse(
+                jwtProvider.createTokenWithBuilder("1234", JwtProvider.REFRESH_TYPE, 60_000)).token();
+
+        assertThat(fast.subject()).isEqualTo(builder.subject());
+        assertThat(fast.type()).isEqualTo(builder.type());
+        assertThat(fast.expiration().getEpochSecond() - fast.issuedAt().getEpochSecond())
+                .isEqualTo(builder.expiration().getEpochSecond() - builder.issuedAt().getEpochSecond());
+    }
+
+    @Test
+    void subjectsNeedingEscapesFallBackToBuilder() {
+        String subject = "quote\"back\\slash-한글";
+        TokenParseResult result = jwtProvider.parse(jwtProvider.createAccessToken(subject));
+
+        assertThat(result.isValid()).isTrue();
+        assertThat(result.token().subject()).isEqualTo(subject);
+    }
+
+    @Test
+    void profileClaimsRoundTripThroughFastPath() {
+        TokenProfile profile = new TokenProfile(3, "닉네임 \"따옴표\" \\ 😀\n", "user@example.com",
+                "https://k.kakaocdn.net/img.jpg", TokenProfile.DEFAULT_ROLES);
+        assertThat(FastTokenSigner.supports("1234", JwtProvider.ACCESS_TYPE, profile)).isTrue();
+
+        ParsedToken fast = jwtProvider.parse(jwtProvider.createAccessToken("1234", profile)).token();
+        ParsedToken builder = jwtProvider.parse(
+                jwtProvider.createTokenWithBuilder("1234", JwtProvider.ACCESS_TYPE, profile, 60_000)).token();
+
+        assertThat(fast.profile()).isEqualTo(profile);
+        assertThat(builder.profile()).isEqualTo(profile);
+        assertThat(jwtProvider.parse(jwtProvider.createAccessToken("1234")).token().profile()).isNull();
+    }
+}
@@ -0,0 +1,118 @@
+package com.ll.b20250227.jwt;
+
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.Test;
+
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.spec.ECGenParameterSpec;
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JwtKeyringTests {
+
+    private static final String HS_SECRET = Base64.getEncoder().encodeToString(new byte[32]);
+
+    private final KeyPair ecKeyPair = ecKeyPair("secp256r1");
+    private final JwtKeyProperties.Entry hsEntry =
+            new JwtKeyProperties.Entry("hs-2025-01", "HS256", HS_SECRET, null, null);
+    private final JwtKeyProperties.Entry esEntry = new JwtKeyProperties.Entry("es-2025-03", "ES256", null,
+            base64(ecKeyPair.getPrivate().getEncoded()), base64(ecKeyPair.getPublic().getEncoded()));
+
+    @Test
+    void tokensSignedWithRetiredKeyVerifyAfterRotation() {
+        JwtProvider before = new JwtProvider(new JwtKeyring(new JwtKeyProperties(null, null, null, List.of(hsEntry))));
+        JwtKeyring rotated = new JwtKeyring(new JwtKeyProperties("es-2025-03", null, null, List.of(hsEntry, esEntry)));
+        JwtProvider after = new JwtProvider(rotated);
+
+        String oldToken = before.createAccessToken("3000000001");
+        String newToken = after.createAccessToken("3000000001");
+
+        assertThat(rotated.active().algorithm()).isEqualTo(SignatureAlgorithm.ES256);
+        assertThat(after.parse(oldToken).isValid()).isTrue();
+        assertThat(after.parse(newToken).isValid()).isTrue();
+        // 이전 키만 가진 노드는 새 키로 서명한 토큰을 모름
+        assertThat(before.parse(newToken).failure()).isEqualTo(TokenFailure.BAD_SIGNATURE);
+    }
+
+    @Test
+    void unknownKidIsRejected() {
+        JwtProvider provider = new JwtProvider(new JwtKeyring(new JwtKeyProperties(null, null, null, List.of(hsEntry))));
+        String token = Jwts.builder()
+                .setHeaderParam(JwsHeader.KEY_ID, "hs-unknown")
+                .setSubject("3000000001")
+                .setExpiration(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(Keys.hmacShaKeyFor(Base64.getDecoder().decode(HS_SECRET)), SignatureAlgorithm.HS256)
+                .compact();
+
+        // 같은 비밀키로 서명했어도 kid 가 없는 키면 거부
+        assertThat(provider.parse(token).failure()).isEqualTo(TokenFailure.BAD_SIGNATURE);
+        assertThat(provider.parse(new JwtProvider(JwtKeyring.generated()).createAccessToken("1")).failure())
+                .isEqualTo(TokenFailure.BAD_SIGNATURE);
+    }
+
+    @Test
+    void algorithmThatDoesNotMatchTheKidIsRejected() {
+        JwtProvider provider = new JwtProvider(
+                new JwtKeyring(new JwtKeyProperties("es-2025-03", null, null, List.of(hsEntry, esEntry))));
+        // ES256 공개키 바이트를 HMAC 비밀키로 쓰는 알고리즘 혼동 공격
+        String token = Jwts.builder()
+                .setHeaderParam(JwsHeader.KEY_ID, "es-2025-03")
+                .setSubject("3000000001")
+                .setExpiration(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(Keys.hmacShaKeyFor(ecKeyPair.getPublic().getEncoded()), SignatureAlgorithm.HS256)
+                .compact();
+
+        assertThat(provider.parse(token).failure()).isEqualTo(TokenFailure.BAD_SIGNATURE);
+    }
+
+    @Test
+    void misconfiguredKeysFailAtStartup() {
+        assertThatThrownBy(() -> new JwtKeyring(new JwtKeyProperties(null, null, null, List.of(hsEntry, hsEntry))))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("hs-2025-01");
+        assertThatThrownBy(() -> new JwtKeyring(new JwtKeyProperties("missing", null, null, List.of(hsEntry))))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("missing");
+        // 공개키만 있는 키로는 서명할 수 없음
+        JwtKeyProperties.Entry verifyOnly = new JwtKeyProperties.Entry("es-verify", "ES256", null, null,
+                base64(ecKeyPair.getPublic().getEncoded()));
+        assertThatThrownBy(() -> new JwtKeyring(new JwtKeyProperties("es-verify", null, null, List.of(verifyOnly))))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void ecKeysOnOtherCurvesAreRejected() {
+        KeyPair p384 = ecKeyPair("secp384r1");
+        JwtKeyProperties.Entry entry = new JwtKeyProperties.Entry("es-p384", "ES256", null,
+                base64(p384.getPrivate().getEncoded()), base64(p384.getPublic().getEncoded()));
+
+        // JWKS 는 crv=P-256 으로만 공개하므로 P-384 키는 시작할 때 거부
+        assertThatThrownBy(() -> new JwtKeyring(new JwtKeyProperties("es-p384", null, null, List.of(entry))))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("es-p384")
+                .rootCause()
+                .hasMessageContaining("P-256");
+    }
+
+    private static KeyPair ecKeyPair(String curve) {
+        try {
+            KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+            generator.initialize(new ECGenParameterSpec(curve));
+            return generator.generateKeyPair();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String base64(byte[] bytes) {
+        return Base64.getEncoder().encodeToString(bytes);
+    }
+}
@@ -0,0 +1,63 @@
+package com.ll.b20250227.jwt;
+
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JwtProviderTests {
+
+    private final JwtProvider jwtProvider = new JwtProvider(JwtKeyring.generated());
+
+    @Test
+    void validTokenIsParsedOnce() {
+        Instant before = Instant.now().minusSeconds(1);
+        TokenParseResult result = jwtProvider.parse(jwtProvider.createRefreshToken("3000000001"));
+
+        assertThat(result.isValid()).isTrue();
+        assertThat(result.failure()).isNull();
+        ParsedToken token = result.token();
+        assertThat(token.subject()).isEqualTo("3000000001");
+        assertThat(token.type()).isEqualTo(JwtProvider.REFRESH_TYPE);
+        assertThat(token.isRefreshToken()).isTrue();
+        assertThat(token.id()).hasSize(36);
+        assertThat(token.issuedAt()).isAfter(before);
+        assertThat(token.expiration()).isAfter(token.issuedAt());
+        // 같은 subject 라도 jti 는 토큰마다 다름
+        assertThat(jwtProvider.parse(jwtProvider.createRefreshToken("3000000001")).token().id())
+                .isNotEqualTo(token.id());
+    }
+
+    @Test
+    void failuresAreMappedToReasons() {
+        String valid = jwtProvider.createAccessToken("3000000001");
+        String[] parts = valid.split("\\.");
+        String otherPayload = jwtProvider.createAccessToken("3000000002").split("\\.")[1];
+
+        assertThat(jwtProvider.parse(null).failure()).isEqualTo(TokenFailure.EMPTY);
+        assertThat(jwtProvider.parse(" ").failure()).isEqualTo(TokenFailure.EMPTY);
+        assertThat(jwtProvider.parse(jwtProvider.createToken("3000000001", JwtProvider.ACCESS_TYPE, -1000)).failure())
+                .isEqualTo(TokenFailure.EXPIRED);
+        // 다른 토큰의 payload 로 바꿔치기
+        assertThat(jwtProvider.parse(parts[0] + "." + otherPayload + "." + parts[2]).failure())
+                .isEqualTo(TokenFailure.BAD_SIGNATURE);
+        // 다른 키링(모르는 kid)으로 서명
+        assertThat(jwtProvider.parse(new JwtProvider(JwtKeyring.generated()).createAccessToken("3000000001")).failure())
+                .isEqualTo(TokenFailure.BAD_SIGNATURE);
+        assertThat(jwtProvider.parse("not-a-token").failure()).isEqualTo(TokenFailure.MALFORMED);
+        assertThat(jwtProvider.parse("###." + parts[1] + "." + parts[2]).failure()).isEqualTo(TokenFailure.MALFORMED);
+        // 서명 없는 토큰 (alg=none)
+        String unsigned = Jwts.builder()
+                .setSubject("3000000001")
+                .setExpiration(new Date(System.currentTimeMillis() + 60_000))
+                .compact();
+        assertThat(jwtProvider.parse(unsigned).failure()).isEqualTo(TokenFailure.UNSUPPORTED);
+
+        // 실패 결과는 사유별로 같은 인스턴스
+        assertThat(jwtProvider.parse("not-a-token")).isSameAs(jwtProvider.parse("also-not-a-token"));
+        assertThat(jwtProvider.parse("not-a-token").isValid()).isFalse();
+    }
+}
@@ -0,0 +1,101 @@
+package com.ll.b20250227.jwt;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RefreshSingleFlightTests {
+
+    @Test
+    void concurrentRefreshesShareOneIssuedPair() throws Exception {
+        RefreshSingleFlight singleFlight = new RefreshSingleFlight(Duration.ofSeconds(10));
+        AtomicInteger issued = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+
+        List<Future<RefreshSingleFlight.IssuedTokens>> results = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < 8; i++) {
+                results.add(executor.submit(() -> singleFlight.execute("jti-1", () -> {
+                    issued.incrementAndGet();
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return new RefreshSingleFlight.IssuedTokens("access", "refresh", Instant.now().plusSeconds(5));
+                })));
+            }
+            Thread.sleep(100);
+            release.countDown();
+            int withRefreshToken = 0;
+            for (Future<RefreshSingleFlight.IssuedTokens> result : results) {
+                assertThat(result.get().accessToken()).isEqualTo("access");
+                if (result.get().refreshToken() != null) {
+                    withRefreshToken++;
+                }
+            }
+            // 회전된 refresh token 은 처음 발급받은 요청에만
+            assertThat(withRefreshToken).isEqualTo(1);
+        }
+
+        assertThat(issued).hasValue(1);
+        assertThat(singleFlight.sharedCount()).isEqualTo(7);
+    }
+
+    @Test
+    void replayAfterGraceWindowIsRefused() throws Exception {
+        RefreshSingleFlight singleFlight = new RefreshSingleFlight(Duration.ofMillis(200));
+        TokenRevocationStore revocationStore = new TokenRevocationStore(100);
+        Instant refreshExpiresAt = Instant.now().plusSeconds(60);
+        // AuthController.rotate 처럼 사용한 refresh token 을 폐기할 수 있을 때만 새 쌍 발급
+        Supplier<RefreshSingleFlight.IssuedTokens> rotate = () -> revocationStore.revoke("jti-1", refreshExpiresAt)
+                ? new RefreshSingleFlight.IssuedTokens("access", "refresh", Instant.now().plusSeconds(5))
+                : null;
+
+        assertThat(singleFlight.execute("jti-1", rotate).refreshToken()).isEqualTo("refresh");
+        // 바로 다시 온 요청(동시에 만료된 다른 탭)은 access token 만
+        RefreshSingleFlight.IssuedTokens shared = singleFlight.execute("jti-1", rotate);
+        assertThat(shared.accessToken()).isEqualTo("access");
+        assertThat(shared.refreshToken()).isNull();
+
+        // grace window 가 지난 재사용은 폐기된 토큰이라 거부
+        Thread.sleep(300);
+        assertThat(singleFlight.execute("jti-1", rotate)).isNull();
+        assertThat(singleFlight.execute("jti-1", rotate)).isNull();
+        assertThat(singleFlight.sharedCount()).isEqualTo(1);
+    }
+
+    @Test
+    void forgottenTokensAreNotServedFromTheGraceWindow() {
+        RefreshSingleFlight singleFlight = new RefreshSingleFlight(Duration.ofSeconds(10));
+        singleFlight.execute("jti-1", () ->
+                new RefreshSingleFlight.IssuedTokens("access", "refresh", Instant.now().plusSeconds(5)));
+
+        singleFlight.forget("jti-1");
+
+        assertThat(singleFlight.execute("jti-1", () -> null)).isNull();
+    }
+
+    @Test
+    void expiresInRoundsUpToWholeSeconds() {
+        Instant now = Instant.parse("2025-03-01T00:00:00Z");
+        RefreshSingleFlight.IssuedTokens issued =
+                new RefreshSingleFlight.IssuedTokens("access", "refresh", now.plusSeconds(5));
+
+        assertThat(issued.expiresIn(now)).isEqualTo(5);
+        assertThat(issued.expiresIn(now.plusNanos(1_000))).isEqualTo(5);
+        assertThat(issued.expiresIn(now.plusMillis(4_001))).isEqualTo(1);
+        assertThat(issued.expiresIn(now.plusSeconds(6))).isZero();
+    }
+}
@@ -0,0 +1,74 @@
+package com.ll.b20250227.jwt;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenIntrospectorTests {
+
+    private final JwtProvider jwtProvider = new JwtProvider(JwtKeyring.generated());
+    private final TokenRevocationStore revocationStore = new TokenRevocationStore(1000);
+
+    @Test
+    void mixedBatchIsVerifiedInParallelAndKeepsRequestOrder() {
+        IntrospectionProperties properties = new IntrospectionProperties(List.of("key"), 100, Duration.ofSeconds(30), 4);
+        TokenIntrospector introspector = new TokenIntrospector(jwtProvider, null, revocationStore, properties, 4);
+        try {
+            String access = jwtProvider.createAccessToken("3000000001");
+            String refresh = jwtProvider.createRefreshToken("3000000002");
+            String expired = jwtProvider.createToken("3000000003", JwtProvider.ACCESS_TYPE, -1000);
+            String revoked = jwtProvider.createAccessToken("3000000004");
+            revocationStore.revoke(jwtProvider.parse(revoked).token());
+
+            List<String> tokens = new ArrayList<>();
+            for (int i = 0; i < 10; i++) {
+                tokens.add(jwtProvider.createAccessToken(String.valueOf(3_100_000_000L + i)));
+            }
+            tokens.addAll(List.of(access, refresh, expired, revoked, "not-a-token", "", access));
+
+            List<TokenIntrospection> results = introspector.introspect(tokens);
+
+            assertThat(results).hasSize(tokens.size());
+            for (int i = 0; i < 10; i++) {
+                assertThat(results.get(i).subject()).isEqualTo(String.valueOf(3_100_000_000L + i));
+            }
+            assertThat(results.get(10)).satisfies(result -> {
+                assertThat(result.active()).isTrue();
+                assertThat(result.subject()).isEqualTo("3000000001");
+                assertThat(result.type()).isEqualTo(JwtProvider.ACCESS_TYPE);
+                assertThat(result.exp()).isEqualTo(jwtProvider.parse(access).token().expiration().getEpochSecond());
+            });
+            assertThat(results.get(11).type()).isEqualTo(JwtProvider.REFRESH_TYPE);
+            assertThat(results.subList(12, 16)).containsOnly(TokenIntrospection.INACTIVE);
+            // 같은 토큰은 같은 결과
+            assertThat(results.get(16)).isSameAs(results.get(10));
+        } finally {
+            introspector.shutdown();
+        }
+    }
+
+    @Test
+    void cacheMaxAgeFollowsEarliestActiveExpiry() {
+        IntrospectionProperties properties = new IntrospectionProperties(List.of(), 100, Duration.ofSeconds(30), 16);
+        TokenIntrospector introspector = new TokenIntrospector(jwtProvider, null, revocationStore, properties, 1);
+        try {
+            Instant now = Instant.ofEpochSecond(1_740_787_200L);
+            TokenIntrospection soon = new TokenIntrospection(true, "1", JwtProvider.ACCESS_TYPE, now.getEpochSecond() + 12);
+            TokenIntrospection later = new TokenIntrospection(true, "2", JwtProvider.ACCESS_TYPE, now.getEpochSecond() + 600);
+            TokenIntrospection past = new TokenIntrospection(true, "3", JwtProvider.ACCESS_TYPE, now.getEpochSecond() - 5);
+
+            assertThat(introspector.cacheMaxAge(List.of(later, soon, TokenIntrospection.INACTIVE), now))
+                    .isEqualTo(Duration.ofSeconds(12));
+            assertThat(introspector.cacheMaxAge(List.of(later, TokenIntrospection.INACTIVE), now))
+                    .isEqualTo(Duration.ofSeconds(30));
+            assertThat(introspector.cacheMaxAge(List.of(past), now)).isZero();
+        } finally {
+            introspector.shutdown();
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.ll.b20250227.jwt;
+
+import com.ll.b20250227.entity.User;
+import com.ll.b20250227.repository.UserRepository;
+import com.ll.b20250227.repository.UserWriteBehind;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class TokenProfileResolverTests {
+
+    @Autowired
+    private TokenProfileResolver defaultResolver;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private UserWriteBehind userWriteBehind;
+
+    @Test
+    void profileClaimsAreOffByDefault() {
+        long userId = 3_900_000_401L;
+        userRepository.save(user(userId, "라이언", 1L));
+
+        assertThat(defaultResolver.isEnabled()).isFalse();
+        assertThat(defaultResolver.resolve(userId)).isNull();
+        // 예전 설정으로 발급된 토큰에 프로필이 있어도 쓰지 않음
+        assertThat(defaultResolver.isCurrent(userId, new TokenProfile(1, "라이언", null, null, null))).isFalse();
+    }
+
+    @Test
+    void staleVersionFallsBackAfterProfileChange() {
+        long userId = 3_900_000_402L;
+        TokenProfileResolver resolver = new TokenProfileResolver(userRepository, userWriteBehind, true, false);
+        userRepository.save(user(userId, "라이언", 1L));
+
+        TokenProfile issued = resolver.resolve(userId);
+        assertThat(issued.version()).isEqualTo(1);
+        assertThat(issued.nickname()).isEqualTo("라이언");
+        // 기본 설정에서는 이메일을 토큰에 싣지 않음
+        assertThat(issued.email()).isNull();
+        assertThat(resolver.isCurrent(userId, issued)).isTrue();
+
+        // 다시 로그인해서 프로필이 바뀌면 (CustomOAuth2UserService 가 버전을 올림) 이전 토큰의 프로필은 쓰지 않음
+        userWriteBehind.remember(user(userId, "춘식", 2L));
+        assertThat(resolver.isCurrent(userId, issued)).isFalse();
+
+        // 재발급한 토큰은 새 버전
+        TokenProfile reissued = resolver.resolve(userId);
+        assertThat(reissued.version()).isEqualTo(2);
+        assertThat(reissued.nickname()).isEqualTo("춘식");
+        assertThat(resolver.isCurrent(userId, reissued)).isTrue();
+    }
+
+    @Test
+    void emailIsLookedUpOnlyWhenNotInTheToken() {
+        long userId = 3_900_000_403L;
+        userRepository.save(user(userId, "라이언", 1L));
+        TokenProfileResolver withoutEmail = new TokenProfileResolver(userRepository, userWriteBehind, true, false);
+        TokenProfileResolver withEmail = new TokenProfileResolver(userRepository, userWriteBehind, true, true);
+
+        // 메모리에 없으면 DB 에서 이메일만 조회
+        assertThat(withoutEmail.email(userId, new TokenProfile(1, "라이언", null, null, null)))
+                .isEqualTo("ryan@example.com");
+        assertThat(withEmail.resolve(userId).email()).isEqualTo("ryan@example.com");
+        assertThat(withEmail.email(userId, new TokenProfile(1, "라이언", "token@example.com", null, null)))
+                .isEqualTo("token@example.com");
+    }
+
+    private static User user(long id, String nickname, long version) {
+        return User.builder().id(id).provider("kakao").nickname(nickname).email("ryan@example.com")
+                .profileVersion(version).build();
+    }
+}
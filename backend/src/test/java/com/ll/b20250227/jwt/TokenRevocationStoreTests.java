@@ -0,0 +1,104 @@
+package com.ll.b20250227.jwt;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenRevocationStoreTests {
+
+    @Test
+    void revokesEachTokenOnce() {
+        TokenRevocationStore store = new TokenRevocationStore(100);
+        Instant expiresAt = Instant.now().plusSeconds(60);
+
+        assertThat(store.revoke("jti-1", expiresAt)).isTrue();
+        // 같은 Refresh Token 으로 두 번째 재발급은 거부
+        assertThat(store.revoke("jti-1", expiresAt)).isFalse();
+        assertThat(store.isRevoked("jti-1")).isTrue();
+        assertThat(store.isRevoked("jti-2")).isFalse();
+        assertThat(store.isRevoked(null)).isFalse();
+
+        // 이미 만료된 토큰은 기록하지 않음
+        assertThat(store.revoke("jti-3", Instant.now().minusSeconds(1))).isTrue();
+        assertThat(store.isRevoked("jti-3")).isFalse();
+        assertThat(store.size()).isEqualTo(1);
+    }
+
+    @Test
+    void revokedTokensStayVisibleWhileBloomFilterIsRebuilt() throws Exception {
+        // expectedEntries 가 작아서 폐기하는 동안 블룸 필터가 여러 번 다시 만들어짐
+        TokenRevocationStore store = new TokenRevocationStore(64);
+        Instant expiresAt = Instant.now().plusSeconds(60);
+        int threads = 4;
+        int perThread = 500;
+
+        List<Future<List<String>>> results = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(threads)) {
+            for (int t = 0; t < threads; t++) {
+                results.add(executor.submit(() -> {
+                    List<String> ids = new ArrayList<>(perThread);
+                    for (int i = 0; i < perThread; i++) {
+                        String id = UUID.randomUUID().toString();
+                        assertThat(store.revoke(id, expiresAt)).isTrue();
+                        ids.add(id);
+                        // 다른 스레드가 필터를 교체하는 중에도 방금 폐기한 토큰은 보여야 함
+                        assertThat(store.isRevoked(id)).isTrue();
+                    }
+                    return ids;
+                }));
+            }
+            for (Future<List<String>> result : results) {
+                for (String id : result.get()) {
+                    assertThat(store.isRevoked(id)).isTrue();
+                }
+            }
+        }
+        assertThat(store.size()).isEqualTo((long) threads * perThread);
+    }
+
+    @Test
+    void expiredEntriesAreDroppedFromRebuiltFilter() throws Exception {
+        TokenRevocationStore store = new TokenRevocationStore(16);
+        for (int i = 0; i < 16; i++) {
+            store.revoke("short-" + i, Instant.now().plusMillis(50));
+        }
+        Thread.sleep(100);
+        // 다시 만들 때는 살아있는 jti 만 넣음
+        for (int i = 0; i < 17; i++) {
+            store.revoke("long-" + i, Instant.now().plusSeconds(60));
+        }
+        for (int i = 0; i < 16; i++) {
+            assertThat(store.isRevoked("short-" + i)).isFalse();
+        }
+        for (int i = 0; i < 17; i++) {
+            assertThat(store.isRevoked("long-" + i)).isTrue();
+        }
+    }
+
+    @Test
+    void bloomFilterHasNoFalseNegativesAndFewFalsePositives() {
+        BloomFilter filter = new BloomFilter(10_000);
+        for (int i = 0; i < 10_000; i++) {
+            filter.add("revoked-" + i);
+        }
+        for (int i = 0; i < 10_000; i++) {
+            assertThat(filter.mightContain("revoked-" + i)).isTrue();
+        }
+        int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filter.mightContain(UUID.randomUUID().toString())) {
+                falsePositives++;
+            }
+        }
+        // 설계상 약 0.2%, 여유를 두고 1% 이하
+        assertThat(falsePositives).isLessThan(1_000);
+    }
+}
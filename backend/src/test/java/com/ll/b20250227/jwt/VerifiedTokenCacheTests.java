@@ -0,0 +1,80 @@
+package com.ll.b20250227.jwt;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class VerifiedTokenCacheTests {
+
+    private final JwtProvider jwtProvider = new JwtProvider(JwtKeyring.generated());
+    private final MutableClock clock = new MutableClock(Instant.now());
+    // 캐시 만료는 clock 과 같이 움직이는 ticker 로 판단
+    private final VerifiedTokenCache cache = new VerifiedTokenCache(jwtProvider, 100,
+            () -> Duration.between(Instant.EPOCH, clock.instant()).toNanos(), clock);
+
+    @Test
+    void cachedTokenExpiresAtItsExpClaim() {
+        String token = jwtProvider.createToken("3000000001", JwtProvider.ACCESS_TYPE, 60_000);
+        Instant expiration = jwtProvider.parse(token).token().expiration();
+
+        assertThat(cache.parse(token).isValid()).isTrue();
+        assertThat(cache.parse(token).isValid()).isTrue();
+        assertThat(cache.hitCount()).isEqualTo(1);
+
+        clock.set(expiration.minusSeconds(1));
+        assertThat(cache.parse(token).token().subject()).isEqualTo("3000000001");
+        assertThat(cache.hitCount()).isEqualTo(2);
+
+        // exp 가 지나면 캐시에서 빠지고 다시 검증 (실제 시계로는 아직 유효해서 다시 저장됨)
+        clock.set(expiration.plusMillis(1));
+        cache.parse(token);
+        assertThat(cache.hitCount()).isEqualTo(2);
+        assertThat(cache.missCount()).isEqualTo(2);
+    }
+
+    @Test
+    void invalidTokensAreNotCached() {
+        String expired = jwtProvider.createToken("3000000001", JwtProvider.ACCESS_TYPE, -1000);
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(cache.parse(expired).failure()).isEqualTo(TokenFailure.EXPIRED);
+            assertThat(cache.parse("not-a-token").isValid()).isFalse();
+        }
+        assertThat(cache.hitCount()).isZero();
+        assertThat(cache.size()).isZero();
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private volatile Instant instant;
+
+        MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        void set(Instant instant) {
+            this.instant = instant;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.ll.b20250227.metrics;
+
+import com.ll.b20250227.jwt.TokenFailure;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AuthMetricsTests {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final AuthMetrics metrics = new AuthMetrics(registry);
+
+    @Test
+    void timersAreRegisteredUpFrontWithExpectedNamesAndTags() {
+        // 대시보드/알림이 참조하는 이름과 태그 (바꾸면 함께 수정)
+        Map<String, String[]> expected = Map.of(
+                "auth.filter", new String[]{"outcome", "valid", "none", "empty", "expired", "bad_signature",
+                        "malformed", "unsupported", "revoked"},
+                "auth.token.issue", new String[]{"type", "access", "refresh"},
+                "auth.refresh", new String[]{"outcome", "success", "invalid", "not_refresh_token", "revoked"},
+                "auth.login", new String[]{"phase", "kakao_userinfo", "db_upsert"},
+                "user.info", new String[]{"source", "cache", "database", "token", "not_modified", "not_found"},
+                "auth.introspect", new String[]{"mode", "batch"});
+
+        expected.forEach((name, tags) -> {
+            for (int i = 1; i < tags.length; i++) {
+                Timer timer = registry.find(name).tag(tags[0], tags[i]).timer();
+                // histogram bucket 은 Prometheus 출력에서 확인 (ActuatorSecurityTests)
+                assertThat(timer).as("%s{%s=%s}", name, tags[0], tags[i]).isNotNull();
+            }
+            assertThat(registry.find(name).timers()).hasSize(tags.length - 1);
+        });
+        assertThat(TokenFailure.values()).hasSize(expected.get("auth.filter").length - 3);
+    }
+
+    @Test
+    void filterOutcomesAreRecordedOnTheirOwnTimer() {
+        metrics.recordFilter(null, 1_000);
+        metrics.recordFilter(TokenFailure.EXPIRED, 1_000);
+        metrics.recordFilter(TokenFailure.EXPIRED, 1_000);
+        metrics.recordFilterWithoutToken(1_000);
+        metrics.userInfoCache().record(5, TimeUnit.MILLISECONDS);
+
+        assertThat(registry.get("auth.filter").tag("outcome", "valid").timer().count()).isEqualTo(1);
+        assertThat(registry.get("auth.filter").tag("outcome", "expired").timer().count()).isEqualTo(2);
+        assertThat(registry.get("auth.filter").tag("outcome", "none").timer().count()).isEqualTo(1);
+        assertThat(registry.get("auth.filter").tag("outcome", "bad_signature").timer().count()).isZero();
+        assertThat(registry.get("user.info").tag("source", "cache").timer().totalTime(TimeUnit.MILLISECONDS))
+                .isEqualTo(5);
+    }
+}
@@ -0,0 +1,108 @@
+package com.ll.b20250227.oauth;
+
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.oauth2.core.endpoint.OAuth2AuthorizationRequest;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CookieAuthorizationRequestRepositoryTests {
+
+    private static final String SECRET = Base64.getEncoder().encodeToString(new byte[32]);
+    private static final Instant NOW = Instant.parse("2025-03-01T00:00:00Z");
+
+    private final CookieAuthorizationRequestRepository repository = repository(List.of(SECRET), NOW);
+
+    @Test
+    void anyNodeWithSameKeyRestoresTheRequest() {
+        OAuth2AuthorizationRequest saved = authorizationRequest("state-1");
+        Cookie cookie = save(repository, saved);
+        assertThat(cookie.isHttpOnly()).isTrue();
+        assertThat(cookie.getPath()).isEqualTo("/login/oauth2/code");
+
+        // 다른 노드: 새 키를 앞에 추가해 교체 중이어도 이전 키로 복호화
+        String rotated = Base64.getEncoder().encodeToString("0123456789abcdef".getBytes());
+        CookieAuthorizationRequestRepository otherNode = repository(List.of(rotated, SECRET), NOW.plusSeconds(30));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        OAuth2AuthorizationRequest loaded = otherNode.removeAuthorizationRequest(callback(cookie, "state-1"), response);
+
+        assertThat(loaded.getState()).isEqualTo("state-1");
+        assertThat(loaded.getRedirectUri()).isEqualTo(saved.getRedirectUri());
+        assertThat(loaded.getScopes()).isEqualTo(saved.getScopes());
+        assertThat(loaded.getAdditionalParameters()).isEqualTo(saved.getAdditionalParameters());
+        assertThat(loaded.getAttributes()).isEqualTo(saved.getAttributes());
+        assertThat(loaded.getAuthorizationRequestUri()).isEqualTo(saved.getAuthorizationRequestUri());
+        assertThat(response.getCookie("OAUTH2_AUTH_REQUEST").getMaxAge()).isZero();
+    }
+
+    @Test
+    void rejectsTamperedExpiredOrMismatchedCookies() {
+        Cookie cookie = save(repository, authorizationRequest("state-1"));
+
+        char[] chars = cookie.getValue().toCharArray();
+        int last = chars.length - 5;
+        chars[last] = chars[last] == 'A' ? 'B' : 'A';
+        Cookie tampered = new Cookie(cookie.getName(), new String(chars));
+
+        assertThat(repository.loadAuthorizationRequest(callback(tampered, "state-1"))).isNull();
+        assertThat(repository.loadAuthorizationRequest(callback(cookie, "other-state"))).isNull();
+        assertThat(repository(List.of(SECRET), NOW.plus(Duration.ofMinutes(6)))
+                .loadAuthorizationRequest(callback(cookie, "state-1"))).isNull();
+        assertThat(repository(List.of(Base64.getEncoder().encodeToString(new byte[24])), NOW)
+                .loadAuthorizationRequest(callback(cookie, "state-1"))).isNull();
+    }
+
+    @Test
+    void oversizedRequestsFailInsteadOfBeingDroppedByTheBrowser() {
+        OAuth2AuthorizationRequest large = OAuth2AuthorizationRequest.from(authorizationRequest("state-1"))
+                .additionalParameters(Map.of("padding", "x".repeat(4096)))
+                .build();
+
+        assertThatThrownBy(() -> save(repository, large)).isInstanceOf(IllegalStateException.class);
+    }
+
+    private static CookieAuthorizationRequestRepository repository(List<String> secrets, Instant now) {
+        AuthorizationCookieProperties properties = new AuthorizationCookieProperties("OAUTH2_AUTH_REQUEST",
+                "/login/oauth2/code", Duration.ofMinutes(5), DataSize.ofKilobytes(3), null, secrets);
+        return new CookieAuthorizationRequestRepository(properties, Clock.fixed(now, ZoneOffset.UTC));
+    }
+
+    private static OAuth2AuthorizationRequest authorizationRequest(String state) {
+        return OAuth2AuthorizationRequest.authorizationCode()
+                .authorizationUri("https://kauth.kakao.com/oauth/authorize")
+                .clientId("client-id")
+                .redirectUri("http://localhost:8080/login/oauth2/code/kakao")
+                .scopes(Set.of("profile_nickname", "account_email"))
+                .state(state)
+                .additionalParameters(Map.of("prompt", "login"))
+                .attributes(Map.of("registration_id", "kakao"))
+                .build();
+    }
+
+    private static Cookie save(CookieAuthorizationRequestRepository repository, OAuth2AuthorizationRequest request) {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        repository.saveAuthorizationRequest(request, new MockHttpServletRequest(), response);
+        return response.getCookie("OAUTH2_AUTH_REQUEST");
+    }
+
+    private static MockHttpServletRequest callback(Cookie cookie, String state) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/login/oauth2/code/kakao");
+        request.setCookies(cookie);
+        request.setParameter("state", state);
+        request.setParameter("code", "code");
+        return request;
+    }
+}
@@ -0,0 +1,95 @@
+package com.ll.b20250227.oauth;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.oauth2.client.endpoint.OAuth2AccessTokenResponseClient;
+import org.springframework.security.oauth2.client.endpoint.OAuth2AuthorizationCodeGrantRequest;
+import org.springframework.security.oauth2.client.registration.ClientRegistration;
+import org.springframework.security.oauth2.client.registration.ClientRegistrationRepository;
+import org.springframework.security.oauth2.client.userinfo.OAuth2UserRequest;
+import org.springframework.security.oauth2.core.endpoint.OAuth2AccessTokenResponse;
+import org.springframework.security.oauth2.core.endpoint.OAuth2AuthorizationExchange;
+import org.springframework.security.oauth2.core.endpoint.OAuth2AuthorizationRequest;
+import org.springframework.security.oauth2.core.endpoint.OAuth2AuthorizationResponse;
+import org.springframework.security.oauth2.core.user.OAuth2User;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class KakaoHttpClientTests {
+
+    private static final KakaoStubServer kakao = startStub();
+
+    @Autowired
+    private ClientRegistrationRepository clientRegistrationRepository;
+    @Autowired
+    private OAuth2AccessTokenResponseClient<OAuth2AuthorizationCodeGrantRequest> kakaoAccessTokenResponseClient;
+    @Autowired
+    private CustomOAuth2UserService customOAuth2UserService;
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @DynamicPropertySource
+    static void kakaoProvider(DynamicPropertyRegistry registry) {
+        registry.add("spring.security.oauth2.client.registration.kakao.client-id", () -> "stub-client");
+        registry.add("spring.security.oauth2.client.provider.kakao.token-uri", () -> kakao.baseUrl() + "/oauth/token");
+        registry.add("spring.security.oauth2.client.provider.kakao.user-info-uri", () -> kakao.baseUrl() + "/v2/user/me");
+    }
+
+    @AfterAll
+    static void stopStub() {
+        kakao.close();
+    }
+
+    @Test
+    void tokenExchangeAndUserInfoUseSharedInstrumentedClient() {
+        ClientRegistration registration = clientRegistrationRepository.findByRegistrationId("kakao");
+        OAuth2AuthorizationRequest authorizationRequest = OAuth2AuthorizationRequest.authorizationCode()
+                .clientId(registration.getClientId())
+                .authorizationUri(registration.getProviderDetails().getAuthorizationUri())
+                .redirectUri("http://localhost:8080/login/oauth2/code/kakao")
+                .state("state")
+                .build();
+        OAuth2AuthorizationResponse authorizationResponse = OAuth2AuthorizationResponse.success("code")
+                .redirectUri("http://localhost:8080/login/oauth2/code/kakao")
+                .state("state")
+                .build();
+
+        OAuth2AccessTokenResponse tokenResponse = kakaoAccessTokenResponseClient.getTokenResponse(
+                new OAuth2AuthorizationCodeGrantRequest(registration,
+                        new OAuth2AuthorizationExchange(authorizationRequest, authorizationResponse)));
+        OAuth2User user = customOAuth2UserService.loadUser(
+                new OAuth2UserRequest(registration, tokenResponse.getAccessToken()));
+
+        assertThat(user.getAttributes().get("id")).isEqualTo(KakaoStubServer.USER_ID);
+        assertThat(kakao.tokenCalls()).isEqualTo(1);
+        assertThat(kakao.userInfoCalls()).isEqualTo(1);
+        assertThat(callCount(KakaoHttpClientConfig.TOKEN_CALL)).isEqualTo(1);
+        assertThat(callCount(KakaoHttpClientConfig.USER_INFO_CALL)).isEqualTo(1);
+        assertThat(meterRegistry.get("auth.login").tag("phase", "kakao_userinfo").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("auth.login").tag("phase", "db_upsert").timer().count()).isEqualTo(1);
+    }
+
+    private long callCount(String call) {
+        return meterRegistry.get(OutboundLatencyInterceptor.METRIC_NAME)
+                .tag("call", call)
+                .tag("outcome", "success")
+                .timer()
+                .count();
+    }
+
+    private static KakaoStubServer startStub() {
+        try {
+            return new KakaoStubServer();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.ll.b20250227.oauth;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+// 테스트용 로컬 카카오 대역: 인가(/oauth/authorize), 토큰 발급(/oauth/token), 사용자 정보(/v2/user/me) 응답
+// 실제 카카오 자격 증명 없이 로그인 흐름의 외부 호출을 재현
+// 인가 요청마다 새 code 를 발급하고, code -> access token -> 사용자 id 가 이어지도록 번호를 붙임
+public class KakaoStubServer implements AutoCloseable {
+
+    public static final long USER_ID = 3_000_000_001L;
+
+    private static final String CODE_PREFIX = "stub-code-";
+    private static final String TOKEN_PREFIX = "stub-access-token-";
+
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final AtomicLong authorizeCalls = new AtomicLong();
+    private final AtomicLong tokenCalls = new AtomicLong();
+    private final AtomicLong userInfoCalls = new AtomicLong();
+
+    public KakaoStubServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/oauth/authorize", exchange -> {
+            // 로그인 화면 없이 바로 redirect_uri 로 code 전달
+            long n = authorizeCalls.incrementAndGet();
+            Map<String, String> query = parseForm(exchange.getRequestURI().getRawQuery());
+            String location = query.get("redirect_uri")
+                    + "?code=" + CODE_PREFIX + n
+                    + "&state=" + URLEncoder.encode(query.getOrDefault("state", ""), StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Location", location);
+            exchange.sendResponseHeaders(302, -1);
+            exchange.close();
+        });
+        server.createContext("/oauth/token", exchange -> {
+            tokenCalls.incrementAndGet();
+            String form = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+            String code = parseForm(form).getOrDefault("code", "");
+            String accessToken = code.startsWith(CODE_PREFIX)
+                    ? TOKEN_PREFIX + code.substring(CODE_PREFIX.length())
+                    : "stub-access-token";
+            respond(exchange, """
+                    {"access_token":"%s","token_type":"bearer","refresh_token":"stub-refresh-token",\
+                    "expires_in":21599,"scope":"profile_nickname profile_image account_email"}""".formatted(accessToken));
+        });
+        server.createContext("/v2/user/me", exchange -> {
+            userInfoCalls.incrementAndGet();
+            String authorization = exchange.getRequestHeaders().getFirst("Authorization");
+            long id = USER_ID;
+            if (authorization != null && authorization.startsWith("Bearer " + TOKEN_PREFIX)) {
+                id += Long.parseLong(authorization.substring(("Bearer " + TOKEN_PREFIX).length()));
+            }
+            respond(exchange, """
+                    {"id":%d,"kakao_account":{"email_needs_agreement":false,"email":"stub%d@example.com",\
+                    "profile_needs_agreement":false,"profile":{"nickname":"stub%d",\
+                    "profile_image_url":"http://127.0.0.1/stub.png"}}}""".formatted(id, id, id));
+        });
+        server.setExecutor(executor);
+        server.start();
+    }
+
+    public String baseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    public long authorizeCalls() {
+        return authorizeCalls.get();
+    }
+
+    public long tokenCalls() {
+        return tokenCalls.get();
+    }
+
+    public long userInfoCalls() {
+        return userInfoCalls.get();
+    }
+
+    private static Map<String, String> parseForm(String form) {
+        Map<String, String> values = new HashMap<>();
+        if (form == null || form.isEmpty()) {
+            return values;
+        }
+        for (String pair : form.split("&")) {
+            int index = pair.indexOf('=');
+            if (index > 0) {
+                values.put(URLDecoder.decode(pair.substring(0, index), StandardCharsets.UTF_8),
+                        URLDecoder.decode(pair.substring(index + 1), StandardCharsets.UTF_8));
+            }
+        }
+        return values;
+    }
+
+    private static void respond(HttpExchange exchange, String json) throws IOException {
+        byte[] body = json.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json;charset=UTF-8");
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,184 @@
+package com.ll.b20250227.repository;
+
+import com.ll.b20250227.entity.User;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class UserWriteBehindTests {
+
+    private final EmbeddedDatabase database = new EmbeddedDatabaseBuilder()
+            .setType(EmbeddedDatabaseType.H2)
+            .generateUniqueName(true)
+            .build();
+    private final FlakyJdbcTemplate jdbcTemplate = new FlakyJdbcTemplate(database);
+
+    UserWriteBehindTests() {
+        jdbcTemplate.execute("CREATE TABLE users (id BIGINT PRIMARY KEY, provider VARCHAR(255), nickname VARCHAR(255), "
+                + "email VARCHAR(255), profile_image_url VARCHAR(255), profile_version BIGINT)");
+    }
+
+    @AfterEach
+    void tearDown() {
+        database.shutdown();
+    }
+
+    @Test
+    void changesWhileWriterIsBusyAreCoalescedIntoOneWrite() throws Exception {
+        UserWriteBehind writeBehind = writeBehind(5, Duration.ofMillis(10));
+        jdbcTemplate.block = new CountDownLatch(1);
+
+        writeBehind.submit(user(1L, "first"));
+        await(() -> jdbcTemplate.calls.get() == 1);
+        // writer 가 첫 batch 를 쓰는 동안 들어온 같은 사용자의 변경은 마지막 값 하나로
+        for (int i = 1; i <= 3; i++) {
+            writeBehind.submit(user(2L, "v" + i));
+        }
+        assertThat(writeBehind.pendingCount()).isEqualTo(2);
+        assertThat(writeBehind.findCurrent(2L).getNickname()).isEqualTo("v3");
+
+        jdbcTemplate.block.countDown();
+        writeBehind.shutdown();
+
+        assertThat(jdbcTemplate.calls).hasValue(2);
+        assertThat(nickname(2L)).isEqualTo("v3");
+        assertThat(writeBehind.findPending(2L)).isNull();
+    }
+
+    @Test
+    void transientFailuresAreRetriedWithoutLosingTheChange() throws Exception {
+        UserWriteBehind writeBehind = writeBehind(5, Duration.ofMillis(10));
+        jdbcTemplate.failures.set(2);
+
+        writeBehind.submit(user(1L, "kakao"));
+        // 실패하는 동안에도 대기 값으로 조회 가능
+        assertThat(writeBehind.findPending(1L)).isNotNull();
+        await(() -> writeBehind.pendingCount() == 0);
+        writeBehind.shutdown();
+
+        assertThat(jdbcTemplate.calls).hasValue(3);
+        assertThat(nickname(1L)).isEqualTo("kakao");
+        assertThat(writeBehind.droppedCount()).isZero();
+    }
+
+    @Test
+    void changesAreDroppedAfterMaxAttempts() throws Exception {
+        UserWriteBehind writeBehind = writeBehind(3, Duration.ofMillis(1));
+        jdbcTemplate.failures.set(Integer.MAX_VALUE);
+
+        writeBehind.submit(user(1L, "kakao"));
+        await(() -> writeBehind.droppedCount() == 1);
+        writeBehind.shutdown();
+
+        assertThat(jdbcTemplate.calls).hasValue(3);
+        assertThat(writeBehind.findCurrent(1L)).isNull();
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM users", Integer.class)).isZero();
+    }
+
+    @Test
+    void upsertUpdatesExistingRows() throws Exception {
+        UserWriteBehind writeBehind = writeBehind(5, Duration.ofMillis(10));
+
+        writeBehind.submit(user(1L, "first"));
+        await(() -> writeBehind.pendingCount() == 0);
+        writeBehind.submit(user(1L, "second"));
+        writeBehind.submit(user(2L, "other"));
+        writeBehind.shutdown();
+
+        assertThat(nickname(1L)).isEqualTo("second");
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM users", Integer.class)).isEqualTo(2);
+    }
+
+    @Test
+    void upsertStatementFollowsTheDatabase() {
+        assertThat(UserWriteBehind.upsertSql("H2")).startsWith("MERGE INTO users").contains("KEY (id)");
+        assertThat(UserWriteBehind.upsertSql("PostgreSQL")).contains("ON CONFLICT (id) DO UPDATE SET");
+        assertThat(UserWriteBehind.upsertSql("MariaDB")).isEqualTo(UserWriteBehind.upsertSql("MySQL"));
+        // 모르는 DB 는 로그인 반영이 실패하기 전에 시작할 때 실패
+        assertThatThrownBy(() -> UserWriteBehind.upsertSql("Oracle"))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("Oracle");
+
+        // MySQL 문장은 H2 MySQL 호환 모드에서 실제로 실행해 봄
+        SingleConnectionDataSource dataSource =
+                new SingleConnectionDataSource("jdbc:h2:mem:write-behind-mysql;MODE=MySQL", true);
+        try {
+            JdbcTemplate mysql = new JdbcTemplate(dataSource);
+            mysql.execute("CREATE TABLE users (id BIGINT PRIMARY KEY, provider VARCHAR(255), nickname VARCHAR(255), "
+                    + "email VARCHAR(255), profile_image_url VARCHAR(255), profile_version BIGINT)");
+            for (String nickname : new String[]{"first", "second"}) {
+                mysql.update(UserWriteBehind.upsertSql("MySQL"), 1L, "kakao", nickname, null, null, 1L);
+            }
+            assertThat(mysql.queryForList("SELECT nickname FROM users", String.class)).containsExactly("second");
+        } finally {
+            dataSource.destroy();
+        }
+    }
+
+    private UserWriteBehind writeBehind(int maxAttempts, Duration retryBackoff) {
+        return new UserWriteBehind(jdbcTemplate, 100, 100, Duration.ofMillis(100), 1000,
+                Duration.ofMinutes(1), maxAttempts, retryBackoff);
+    }
+
+    private String nickname(long id) {
+        return jdbcTemplate.queryForObject("SELECT nickname FROM users WHERE id = ?", String.class, id);
+    }
+
+    private static User user(long id, String nickname) {
+        return User.builder().id(id).provider("kakao").nickname(nickname).profileVersion(1L).build();
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime() - deadline).isNegative();
+            Thread.sleep(5);
+        }
+    }
+
+    // batch MERGE 호출 수를 세고, 설정한 횟수만큼 실패하거나 풀어 줄 때까지 멈춤
+    private static class FlakyJdbcTemplate extends JdbcTemplate {
+
+        final AtomicInteger calls = new AtomicInteger();
+        final AtomicInteger failures = new AtomicInteger();
+        volatile CountDownLatch block;
+
+        FlakyJdbcTemplate(EmbeddedDatabase database) {
+            super(database);
+        }
+
+        @Override
+        public <T> int[][] batchUpdate(String sql, Collection<T> batchArgs, int batchSize,
+                                       ParameterizedPreparedStatementSetter<T> pss) {
+            calls.incrementAndGet();
+            CountDownLatch latch = block;
+            if (latch != null) {
+                try {
+                    latch.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            if (failures.getAndDecrement() > 0) {
+                throw new DataAccessResourceFailureException("connection refused");
+            }
+            return super.batchUpdate(sql, batchArgs, batchSize, pss);
+        }
+    }
+}
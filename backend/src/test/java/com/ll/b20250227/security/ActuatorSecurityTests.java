@@ -0,0 +1,85 @@
+package com.ll.b20250227.security;
+
+import com.ll.b20250227.jwt.JwtProvider;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalManagementPort;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 메트릭은 관리 포트로만 제공되고 애플리케이션 포트에서는 헬스체크 외 actuator 가 막혀야 함
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "management.server.port=0")
+@AutoConfigureObservability(tracing = false)
+class ActuatorSecurityTests {
+
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+
+    @LocalServerPort
+    private int serverPort;
+    @LocalManagementPort
+    private int managementPort;
+    @Autowired
+    private JwtProvider jwtProvider;
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void actuatorIsDeniedOnTheApplicationPort() throws Exception {
+        assertThat(managementPort).isNotEqualTo(serverPort);
+        String token = jwtProvider.createAccessToken("3900000301");
+
+        // 관리 포트를 따로 두면 헬스체크도 관리 포트로만 제공 (metricsAreServedOnTheManagementPort)
+        for (String path : new String[]{"/actuator/prometheus", "/actuator/metrics", "/actuator/metrics/auth.filter"}) {
+            assertThat(get(serverPort, path, null).statusCode()).as(path).isEqualTo(401);
+            // 로그인한 사용자도 접근 불가 (거부 응답의 error dispatch 에는 인증 정보가 없어 401 이 될 수 있음)
+            assertThat(get(serverPort, path, token).statusCode()).as(path).isIn(401, 403);
+        }
+    }
+
+    @Test
+    void metricsAreServedOnTheManagementPort() throws Exception {
+        HttpResponse<String> prometheus = get(managementPort, "/actuator/prometheus", null);
+
+        assertThat(prometheus.statusCode()).isEqualTo(200);
+        assertThat(prometheus.body())
+                .contains("auth_filter_seconds_bucket{outcome=\"valid\"")
+                .contains("user_info_seconds_count{source=\"cache\"}")
+                .contains("auth_token_cache_requests_total{result=\"hit\"}")
+                .contains("user_write_behind_dropped_total");
+        assertThat(get(managementPort, "/actuator/metrics/auth.refresh", null).statusCode()).isEqualTo(200);
+        assertThat(get(managementPort, "/actuator/health", null).statusCode()).isEqualTo(200);
+    }
+
+    @Test
+    void stateMetricsAreBound() {
+        assertThat(meterRegistry.get("auth.token.cache.requests").tag("result", "miss").functionCounter()).isNotNull();
+        assertThat(meterRegistry.get("auth.token.cache.size").gauge()).isNotNull();
+        assertThat(meterRegistry.get("auth.token.revoked").gauge()).isNotNull();
+        assertThat(meterRegistry.get("auth.refresh.shared").functionCounter()).isNotNull();
+        assertThat(meterRegistry.get("user.write_behind.pending").gauge()).isNotNull();
+        assertThat(meterRegistry.get("user.write_behind.dropped").functionCounter()).isNotNull();
+        assertThat(meterRegistry.get("auth.rate_limit.rejected").tag("policy", "refresh_ip").functionCounter())
+                .isNotNull();
+        assertThat(meterRegistry.get("audit.events.dropped").tag("reason", "buffer_full").functionCounter())
+                .isNotNull();
+    }
+
+    private HttpResponse<String> get(int port, String path, String token) throws IOException, InterruptedException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + port + path));
+        if (token != null) {
+            request.header("Authorization", "Bearer " + token);
+        }
+        return httpClient.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+}
@@ -0,0 +1,45 @@
+package com.ll.b20250227.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenBucketLimiterTests {
+
+    @Test
+    void allowsBurstThenRejectsWithRetryDelay() {
+        TokenBucketLimiter limiter = new TokenBucketLimiter("test",
+                new RateLimitProperties.Policy(60, Duration.ofMinutes(1), 5), 100);
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(limiter.tryAcquire("10.0.0.1")).isZero();
+        }
+        long wait = limiter.tryAcquire("10.0.0.1");
+        // 분당 60회 -> 다음 토큰까지 최대 1초
+        assertThat(wait).isPositive().isLessThanOrEqualTo(Duration.ofSeconds(1).toNanos());
+        assertThat(limiter.rejectedCount()).isEqualTo(1);
+
+        // 다른 키는 영향 없음
+        assertThat(limiter.tryAcquire("10.0.0.2")).isZero();
+    }
+
+    @Test
+    void newKeysShareOverflowBucketWhenKeyLimitIsReached() {
+        TokenBucketLimiter limiter = new TokenBucketLimiter("test",
+                new RateLimitProperties.Policy(1, Duration.ofHours(1), 1), 2);
+
+        assertThat(limiter.tryAcquire("a")).isZero();
+        assertThat(limiter.tryAcquire("b")).isZero();
+        // 상한을 넘은 새 키들은 버킷 하나를 같이 쓰므로 첫 요청만 통과
+        assertThat(limiter.tryAcquire("c")).isZero();
+        for (int i = 0; i < 1000; i++) {
+            assertThat(limiter.tryAcquire("2001:db8:" + Integer.toHexString(i) + "::1")).isPositive();
+        }
+        assertThat(limiter.tryAcquire("c")).isPositive();
+        assertThat(limiter.size()).isEqualTo(2);
+        assertThat(limiter.tryAcquire("a")).isPositive();
+        assertThat(limiter.rejectedCount()).isEqualTo(1002);
+    }
+}